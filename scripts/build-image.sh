@@ -0,0 +1,21 @@
+#!/usr/bin/env bash
+# Compile a tab-separated playlist file (playlist, title, artist, durationInSeconds)
+# into a binary playlist image that the service loads at startup.
+# Usage: ./scripts/build-image.sh <input.tsv> <output.img>
+set -euo pipefail
+
+if [ "$#" -ne 2 ]; then
+  echo "Usage: $0 <input.tsv> <output.img>" >&2
+  exit 2
+fi
+
+ROOT="$(cd "$(dirname "$0")/.." && pwd)"
+OUT_MAIN="$ROOT/out/main"
+
+mkdir -p "$OUT_MAIN"
+
+echo "==> Compiling main sources..."
+javac -d "$OUT_MAIN" "$ROOT"/src/main/java/com/musiclist/*.java
+
+echo "==> Writing playlist image..."
+java -cp "$OUT_MAIN" com.musiclist.PlaylistImage "$1" "$2"
@@ -14,13 +14,54 @@ echo "==> Compiling main sources..."
 javac -d "$OUT_MAIN" \
   "$ROOT/src/main/java/com/musiclist/Track.java" \
   "$ROOT/src/main/java/com/musiclist/TrackNode.java" \
-  "$ROOT/src/main/java/com/musiclist/Playlist.java"
+  "$ROOT/src/main/java/com/musiclist/Playlist.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistEvent.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistListener.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistEventBuffer.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistDiff.java" \
+  "$ROOT/src/main/java/com/musiclist/TrackBloomFilter.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistHistory.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistMetricsMXBean.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistMetrics.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistService.java" \
+  "$ROOT/src/main/java/com/musiclist/PartitionedPlaylist.java" \
+  "$ROOT/src/main/java/com/musiclist/TrackNodePool.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistGenerator.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistStatistics.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistViews.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistImage.java" \
+  "$ROOT/src/main/java/com/musiclist/TrackSimilarityIndex.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistCursor.java" \
+  "$ROOT/src/main/java/com/musiclist/PlaylistCodec.java" \
+  "$ROOT/src/main/java/com/musiclist/TrackQueue.java"
 
 echo "==> Compiling test sources..."
 javac -cp "$JAR:$OUT_MAIN" -d "$OUT_TEST" \
   "$ROOT/src/test/java/com/musiclist/TrackTest.java" \
   "$ROOT/src/test/java/com/musiclist/TrackNodeTest.java" \
-  "$ROOT/src/test/java/com/musiclist/PlaylistTest.java"
+  "$ROOT/src/test/java/com/musiclist/PlaylistTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistEventBufferTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistDiffTest.java" \
+  "$ROOT/src/test/java/com/musiclist/TrackBloomFilterTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistHistoryTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistMetricsTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistServiceTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistServiceLoadHarness.java" \
+  "$ROOT/src/test/java/com/musiclist/PartitionedPlaylistTest.java" \
+  "$ROOT/src/test/java/com/musiclist/TrackNodePoolTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistBenchmark.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistGeneratorTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistStatisticsTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistViewsTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistImageTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistImageHarness.java" \
+  "$ROOT/src/test/java/com/musiclist/TrackSimilarityIndexTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistCursorTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistCodecTest.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistWorkload.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistSoakRunner.java" \
+  "$ROOT/src/test/java/com/musiclist/PlaylistWorkloadTest.java" \
+  "$ROOT/src/test/java/com/musiclist/TrackQueueTest.java"
 
 echo "==> Running tests..."
 java -jar "$JAR" \
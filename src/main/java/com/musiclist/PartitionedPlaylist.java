@@ -0,0 +1,577 @@
+package com.musiclist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * A thread-safe playlist for very large collections, split into segments that are each a
+ * {@link Playlist} with its own lock, size and duration sum.
+ *
+ * <p>Index order is global, exactly as in a single {@link Playlist}. Appends only lock the last
+ * segment, scans ({@link #contains(Track)}, {@link #indexOf(Track)}, {@link #filter(Predicate)},
+ * {@link #removeIf(Predicate)}) run over all segments in parallel, and
+ * {@link #getTotalDuration()} adds up the per-segment sums without visiting any track.
+ * Operations that change the segment layout, such as positional insertions and removals,
+ * briefly take an exclusive lock.</p>
+ *
+ * <p>Segments are kept between a quarter of {@code segmentCapacity} and the full capacity, so
+ * that index lookups, which walk the segment list, stay proportional to
+ * {@code size / segmentCapacity}: bulk appends top up the last segment first, a segment that
+ * overflows is split in half, and a segment that shrinks below a quarter of the capacity is
+ * merged into a neighbour. Only the last segment may be smaller.</p>
+ */
+public class PartitionedPlaylist {
+
+    /** The default maximum number of tracks per segment. */
+    public static final int DEFAULT_SEGMENT_CAPACITY = 4096;
+
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Playlist tracks;
+        private volatile int size;
+        private volatile long duration;
+
+        Segment(Playlist tracks) {
+            this.tracks = tracks;
+            this.size = tracks.size();
+            long total = 0;
+            for (Track track : tracks) {
+                total += track.getDurationInSeconds();
+            }
+            this.duration = total;
+        }
+    }
+
+    private final String name;
+    private final int segmentCapacity;
+    /** Segments below this size are merged into a neighbour. */
+    private final int minSegmentSize;
+    private final ReentrantReadWriteLock layout = new ReentrantReadWriteLock();
+    private final List<Segment> segments = new ArrayList<>();
+
+    /**
+     * Creates an empty playlist with {@link #DEFAULT_SEGMENT_CAPACITY}.
+     *
+     * @param name the name of the playlist
+     */
+    public PartitionedPlaylist(String name) {
+        this(name, DEFAULT_SEGMENT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty playlist whose segments hold at most {@code segmentCapacity} tracks.
+     *
+     * @param name            the name of the playlist
+     * @param segmentCapacity the maximum segment size (must be positive)
+     * @throws IllegalArgumentException if segmentCapacity is not positive
+     */
+    public PartitionedPlaylist(String name, int segmentCapacity) {
+        if (segmentCapacity <= 0) {
+            throw new IllegalArgumentException("Segment capacity must be positive");
+        }
+        this.name = name;
+        this.segmentCapacity = segmentCapacity;
+        this.minSegmentSize = Math.max(1, segmentCapacity / 4);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Adds a track to the end of the playlist.
+     *
+     * @param track the track to add (must not be null)
+     * @throws IllegalArgumentException if track is null
+     */
+    public void addTrack(Track track) {
+        if (track == null) {
+            throw new IllegalArgumentException("Track must not be null");
+        }
+        layout.readLock().lock();
+        try {
+            Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (last != null && appendIfRoom(last, track)) {
+                return;
+            }
+        } finally {
+            layout.readLock().unlock();
+        }
+        layout.writeLock().lock();
+        try {
+            Segment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+            if (last == null || !appendIfRoom(last, track)) {
+                Segment segment = new Segment(new Playlist(name));
+                appendIfRoom(segment, track);
+                segments.add(segment);
+            }
+        } finally {
+            layout.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Appends all tracks, topping up the last segment and then building the new segments in
+     * parallel. The layout is locked exclusively throughout.
+     *
+     * @param tracks the tracks to add (must not be null or contain null)
+     * @throws IllegalArgumentException if tracks is null or contains null
+     */
+    public void addAll(List<Track> tracks) {
+        if (tracks == null) {
+            throw new IllegalArgumentException("Tracks must not be null");
+        }
+        for (Track track : tracks) {
+            if (track == null) {
+                throw new IllegalArgumentException("Track must not be null");
+            }
+        }
+        layout.writeLock().lock();
+        try {
+            int filled = 0;
+            if (!segments.isEmpty()) {
+                Segment last = segments.get(segments.size() - 1);
+                while (filled < tracks.size() && appendIfRoom(last, tracks.get(filled))) {
+                    filled++;
+                }
+            }
+            int start = filled;
+            int chunks = (tracks.size() - start + segmentCapacity - 1) / segmentCapacity;
+            List<Segment> built = IntStream.range(0, chunks).parallel()
+                    .mapToObj(chunk -> {
+                        Playlist playlist = new Playlist(name);
+                        int from = start + chunk * segmentCapacity;
+                        int end = Math.min(tracks.size(), from + segmentCapacity);
+                        for (int i = from; i < end; i++) {
+                            playlist.addTrack(tracks.get(i));
+                        }
+                        return new Segment(playlist);
+                    })
+                    .toList();
+            segments.addAll(built);
+        } finally {
+            layout.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Inserts a track at the specified index (0-based). A segment that grows beyond its
+     * capacity is split in half.
+     *
+     * @param index the position at which to insert
+     * @param track the track to add (must not be null)
+     * @throws IllegalArgumentException  if track is null
+     * @throws IndexOutOfBoundsException if index is negative or greater than size
+     */
+    public void addTrackAtIndex(int index, Track track) {
+        if (track == null) {
+            throw new IllegalArgumentException("Track must not be null");
+        }
+        layout.writeLock().lock();
+        try {
+            if (index < 0 || index > sizeLocked()) {
+                throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+            }
+            if (segments.isEmpty()) {
+                segments.add(new Segment(new Playlist(name)));
+            }
+            int s = 0;
+            int offset = index;
+            while (offset > segments.get(s).size) {
+                offset -= segments.get(s).size;
+                s++;
+            }
+            Segment segment = segments.get(s);
+            segment.tracks.addTrackAtIndex(offset, track);
+            segment.size++;
+            segment.duration += track.getDurationInSeconds();
+            if (segment.size > segmentCapacity) {
+                segments.add(s + 1, split(segment));
+            }
+        } finally {
+            layout.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the track at the specified index. A segment that shrinks below a quarter of its
+     * capacity is merged into a neighbour.
+     *
+     * @param index the 0-based index of the track to remove
+     * @return the removed Track
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public Track removeTrackAtIndex(int index) {
+        layout.writeLock().lock();
+        try {
+            if (index < 0 || index >= sizeLocked()) {
+                throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+            }
+            int s = 0;
+            int offset = index;
+            while (offset >= segments.get(s).size) {
+                offset -= segments.get(s).size;
+                s++;
+            }
+            Segment segment = segments.get(s);
+            Track removed = segment.tracks.removeTrackAtIndex(offset);
+            segment.size--;
+            segment.duration -= removed.getDurationInSeconds();
+            rebalance(s);
+            return removed;
+        } finally {
+            layout.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the first occurrence of the given track, in a single pass over the segments.
+     *
+     * @param track the track to remove
+     * @return true if the track was found and removed, false otherwise
+     */
+    public boolean removeTrack(Track track) {
+        if (track == null) {
+            return false;
+        }
+        layout.writeLock().lock();
+        try {
+            for (int s = 0; s < segments.size(); s++) {
+                Segment segment = segments.get(s);
+                PlaylistCursor cursor = segment.tracks.cursor();
+                while (cursor.hasNext()) {
+                    Track candidate = cursor.next();
+                    if (candidate.equals(track)) {
+                        cursor.remove();
+                        segment.size--;
+                        segment.duration -= candidate.getDurationInSeconds();
+                        rebalance(s);
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } finally {
+            layout.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the track at the specified index.
+     *
+     * @param index the 0-based index
+     * @return the Track at the given index
+     * @throws IndexOutOfBoundsException if the index is out of bounds
+     */
+    public Track getTrack(int index) {
+        layout.readLock().lock();
+        try {
+            if (index >= 0) {
+                int offset = index;
+                for (Segment segment : segments) {
+                    int size = segment.size;
+                    if (offset < size) {
+                        segment.lock.lock();
+                        try {
+                            return segment.tracks.getTrack(offset);
+                        } finally {
+                            segment.lock.unlock();
+                        }
+                    }
+                    offset -= size;
+                }
+            }
+            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+        } finally {
+            layout.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns true if the playlist contains the given track, searching all segments in parallel.
+     *
+     * @param track the track to search for
+     * @return true if found, false otherwise
+     */
+    public boolean contains(Track track) {
+        layout.readLock().lock();
+        try {
+            return segments.parallelStream().anyMatch(segment -> localIndexOf(segment, track) >= 0);
+        } finally {
+            layout.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the index of the first occurrence of the given track, or -1 if not found.
+     * All segments are searched in parallel.
+     *
+     * @param track the track to search for
+     * @return the index, or -1
+     * @throws ArithmeticException if the index does not fit in an int
+     */
+    public int indexOf(Track track) {
+        layout.readLock().lock();
+        try {
+            return indexOfLocked(track);
+        } finally {
+            layout.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns all tracks that match the predicate, in playlist order. Segments are filtered in
+     * parallel.
+     *
+     * @param filter the predicate selecting tracks (must not be null)
+     * @return the matching tracks
+     * @throws IllegalArgumentException if filter is null
+     */
+    public List<Track> filter(Predicate<? super Track> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter must not be null");
+        }
+        layout.readLock().lock();
+        try {
+            return segments.parallelStream()
+                    .flatMap(segment -> {
+                        List<Track> matches = new ArrayList<>();
+                        segment.lock.lock();
+                        try {
+                            for (Track track : segment.tracks) {
+                                if (filter.test(track)) {
+                                    matches.add(track);
+                                }
+                            }
+                        } finally {
+                            segment.lock.unlock();
+                        }
+                        return matches.stream();
+                    })
+                    .toList();
+        } finally {
+            layout.readLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every track that matches the predicate, processing segments in parallel, then
+     * merges segments that became too small.
+     *
+     * @param filter the predicate selecting tracks to remove (must not be null)
+     * @return the number of tracks removed
+     * @throws IllegalArgumentException if filter is null
+     */
+    public int removeIf(Predicate<? super Track> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter must not be null");
+        }
+        layout.writeLock().lock();
+        try {
+            int removed = segments.parallelStream()
+                    .mapToInt(segment -> {
+                        long[] removedDuration = new long[1];
+                        int count = segment.tracks.removeIf(track -> {
+                            if (filter.test(track)) {
+                                removedDuration[0] += track.getDurationInSeconds();
+                                return true;
+                            }
+                            return false;
+                        });
+                        segment.size -= count;
+                        segment.duration -= removedDuration[0];
+                        return count;
+                    })
+                    .sum();
+            segments.removeIf(segment -> segment.size == 0);
+            int s = 0;
+            while (s < segments.size()) {
+                if (segments.size() > 1 && segments.get(s).size < minSegmentSize) {
+                    // Merging shrinks the list or, if the result had to be split, leaves two
+                    // segments of at least half the capacity, so this terminates.
+                    merge(s + 1 < segments.size() ? s : s - 1);
+                } else {
+                    s++;
+                }
+            }
+            return removed;
+        } finally {
+            layout.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of tracks in the playlist.
+     *
+     * @return the size
+     * @throws ArithmeticException if the playlist holds more than {@link Integer#MAX_VALUE} tracks
+     */
+    public int size() {
+        layout.readLock().lock();
+        try {
+            return sizeLocked();
+        } finally {
+            layout.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns true if the playlist contains no tracks.
+     *
+     * @return true if empty
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the total duration of all tracks in seconds, from the per-segment sums.
+     * Unlike {@link Playlist#getTotalDuration()} the result is a long and cannot overflow.
+     *
+     * @return total duration in seconds
+     */
+    public long getTotalDuration() {
+        layout.readLock().lock();
+        try {
+            long total = 0;
+            for (Segment segment : segments) {
+                total += segment.duration;
+            }
+            return total;
+        } finally {
+            layout.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of segments the tracks are currently split into.
+     *
+     * @return the segment count
+     */
+    public int segmentCount() {
+        layout.readLock().lock();
+        try {
+            return segments.size();
+        } finally {
+            layout.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns a copy of all tracks in playlist order.
+     *
+     * @return the tracks
+     */
+    public List<Track> toList() {
+        return filter(track -> true);
+    }
+
+    /**
+     * Removes all tracks from the playlist.
+     */
+    public void clear() {
+        layout.writeLock().lock();
+        try {
+            segments.clear();
+        } finally {
+            layout.writeLock().unlock();
+        }
+    }
+
+    private boolean appendIfRoom(Segment segment, Track track) {
+        segment.lock.lock();
+        try {
+            if (segment.size >= segmentCapacity) {
+                return false;
+            }
+            segment.tracks.addTrack(track);
+            segment.size++;
+            segment.duration += track.getDurationInSeconds();
+            return true;
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the segment at {@code s} if it is empty, or merges it into its smaller neighbour if
+     * it is below the minimum size. Called with the layout write lock.
+     */
+    private void rebalance(int s) {
+        Segment segment = segments.get(s);
+        if (segment.size == 0) {
+            segments.remove(s);
+        } else if (segment.size < minSegmentSize && segments.size() > 1) {
+            boolean withNext = s + 1 < segments.size()
+                    && (s == 0 || segments.get(s + 1).size <= segments.get(s - 1).size);
+            merge(withNext ? s : s - 1);
+        }
+    }
+
+    /**
+     * Moves all tracks of the segment after {@code s} to the end of segment {@code s}, in O(1),
+     * and splits the result in half if it exceeds the capacity. Called with the layout write
+     * lock.
+     */
+    private void merge(int s) {
+        Segment first = segments.get(s);
+        Segment second = segments.remove(s + 1);
+        first.tracks.appendAll(second.tracks);
+        first.size += second.size;
+        first.duration += second.duration;
+        if (first.size > segmentCapacity) {
+            segments.add(s + 1, split(first));
+        }
+    }
+
+    /** Moves the second half of a segment into a new segment. Called with the layout write lock. */
+    private Segment split(Segment segment) {
+        int keep = segment.size / 2;
+        Playlist tail = new Playlist(name);
+        int index = 0;
+        for (Track track : segment.tracks) {
+            if (index++ >= keep) {
+                tail.addTrack(track);
+            }
+        }
+        int[] position = {0};
+        segment.tracks.removeIf(track -> position[0]++ >= keep);
+        Segment second = new Segment(tail);
+        segment.size = keep;
+        segment.duration -= second.duration;
+        return second;
+    }
+
+    private int sizeLocked() {
+        int total = 0;
+        for (Segment segment : segments) {
+            total = Math.addExact(total, segment.size);
+        }
+        return total;
+    }
+
+    private int indexOfLocked(Track track) {
+        int[] local = segments.parallelStream().mapToInt(segment -> localIndexOf(segment, track)).toArray();
+        int offset = 0;
+        for (int s = 0; s < local.length; s++) {
+            if (local[s] >= 0) {
+                return offset + local[s];
+            }
+            offset = Math.addExact(offset, segments.get(s).size);
+        }
+        return -1;
+    }
+
+    private static int localIndexOf(Segment segment, Track track) {
+        segment.lock.lock();
+        try {
+            return segment.tracks.indexOf(track);
+        } finally {
+            segment.lock.unlock();
+        }
+    }
+}
@@ -1,13 +1,38 @@
 package com.musiclist;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
+
 /**
  * A singly linked list that represents a music playlist.
+ * A tail reference is kept so that appending is O(1).
  */
-public class Playlist {
+public class Playlist implements Iterable<Track> {
+
+    /** Listings longer than this many characters are not kept in the render cache. */
+    static final int RENDER_CACHE_MAX_CHARS = 1 << 20;
 
     private final String name;
     private TrackNode head;
+    private TrackNode tail;
     private int size;
+    private int modCount;
+    private final List<PlaylistListener> listeners = new ArrayList<>();
+    private PlaylistMetrics metrics;
+    private String rendered;
+    private int renderedModCount;
 
     /**
      * Creates an empty playlist with the given name.
@@ -17,6 +42,7 @@ public class Playlist {
     public Playlist(String name) {
         this.name = name;
         this.head = null;
+        this.tail = null;
         this.size = 0;
     }
 
@@ -24,6 +50,48 @@ public class Playlist {
         return name;
     }
 
+    /**
+     * Registers a listener that is notified after every structural change.
+     *
+     * @param listener the listener to add (must not be null)
+     * @throws IllegalArgumentException if listener is null
+     */
+    public void addListener(PlaylistListener listener) {
+        if (listener == null) {
+            throw new IllegalArgumentException("Listener must not be null");
+        }
+        listeners.add(listener);
+    }
+
+    /**
+     * Unregisters a previously added listener.
+     *
+     * @param listener the listener to remove
+     * @return true if the listener was registered, false otherwise
+     */
+    public boolean removeListener(PlaylistListener listener) {
+        return listeners.remove(listener);
+    }
+
+    /**
+     * Attaches metrics that record calls, node hops and latencies of the hot operations.
+     *
+     * @param metrics the metrics to update, or null to disable instrumentation
+     */
+    public void setMetrics(PlaylistMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public PlaylistMetrics getMetrics() {
+        return metrics;
+    }
+
+    private void fire(PlaylistEvent event) {
+        for (int i = 0; i < listeners.size(); i++) {
+            listeners.get(i).playlistChanged(event);
+        }
+    }
+
     /**
      * Adds a track to the end of the playlist.
      *
@@ -34,17 +102,11 @@ public class Playlist {
         if (track == null) {
             throw new IllegalArgumentException("Track must not be null");
         }
-        TrackNode newNode = new TrackNode(track);
-        if (head == null) {
-            head = newNode;
-        } else {
-            TrackNode current = head;
-            while (current.getNext() != null) {
-                current = current.getNext();
-            }
-            current.setNext(newNode);
+        long start = metrics != null ? System.nanoTime() : 0L;
+        linkAfter(tail, track, size);
+        if (metrics != null) {
+            metrics.record(PlaylistMetrics.Operation.ADD_TRACK, 0, start);
         }
-        size++;
     }
 
     /**
@@ -57,8 +119,7 @@ public class Playlist {
         if (track == null) {
             throw new IllegalArgumentException("Track must not be null");
         }
-        head = new TrackNode(track, head);
-        size++;
+        linkAfter(null, track, 0);
     }
 
     /**
@@ -76,16 +137,7 @@ public class Playlist {
         if (index < 0 || index > size) {
             throw new IndexOutOfBoundsException("Index out of bounds: " + index);
         }
-        if (index == 0) {
-            addTrackAtBeginning(track);
-            return;
-        }
-        TrackNode current = head;
-        for (int i = 0; i < index - 1; i++) {
-            current = current.getNext();
-        }
-        current.setNext(new TrackNode(track, current.getNext()));
-        size++;
+        linkAfter(nodeBefore(index), track, index);
     }
 
     /**
@@ -95,24 +147,32 @@ public class Playlist {
      * @return true if the track was found and removed, false otherwise
      */
     public boolean removeTrack(Track track) {
-        if (track == null || head == null) {
-            return false;
+        long start = metrics != null ? System.nanoTime() : 0L;
+        int traversed = size;
+        int index = removeFirstOccurrence(track);
+        if (metrics != null) {
+            metrics.record(PlaylistMetrics.Operation.REMOVE_TRACK, index < 0 ? traversed : index + 1, start);
         }
-        if (head.getTrack().equals(track)) {
-            head = head.getNext();
-            size--;
-            return true;
+        return index >= 0;
+    }
+
+    private int removeFirstOccurrence(Track track) {
+        if (track == null) {
+            return -1;
         }
+        TrackNode previous = null;
         TrackNode current = head;
-        while (current.getNext() != null) {
-            if (current.getNext().getTrack().equals(track)) {
-                current.setNext(current.getNext().getNext());
-                size--;
-                return true;
+        int index = 0;
+        while (current != null) {
+            if (current.getTrack().equals(track)) {
+                unlink(previous, current, index);
+                return index;
             }
+            previous = current;
             current = current.getNext();
+            index++;
         }
-        return false;
+        return -1;
     }
 
     /**
@@ -126,22 +186,164 @@ public class Playlist {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("Index out of bounds: " + index);
         }
-        Track removed;
-        if (index == 0) {
-            removed = head.getTrack();
-            head = head.getNext();
-        } else {
-            TrackNode current = head;
-            for (int i = 0; i < index - 1; i++) {
-                current = current.getNext();
+        TrackNode previous = nodeBefore(index);
+        return unlink(previous, previous == null ? head : previous.getNext(), index);
+    }
+
+    /**
+     * Removes every track that matches the predicate in a single pass.
+     *
+     * @param filter the predicate selecting tracks to remove (must not be null)
+     * @return the number of tracks removed
+     * @throws IllegalArgumentException if filter is null
+     */
+    public int removeIf(Predicate<? super Track> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter must not be null");
+        }
+        int removed = 0;
+        TrackNode previous = null;
+        TrackNode current = head;
+        int index = 0;
+        while (current != null) {
+            TrackNode next = current.getNext();
+            if (filter.test(current.getTrack())) {
+                unlink(previous, current, index);
+                removed++;
+            } else {
+                previous = current;
+                index++;
             }
-            removed = current.getNext().getTrack();
-            current.setNext(current.getNext().getNext());
+            current = next;
         }
-        size--;
         return removed;
     }
 
+    /**
+     * Moves the track at {@code fromIndex} so that it ends up at {@code toIndex}.
+     *
+     * @param fromIndex the current 0-based index of the track
+     * @param toIndex   the 0-based index of the track after the move
+     * @throws IndexOutOfBoundsException if an index is out of bounds
+     */
+    public void moveTrack(int fromIndex, int toIndex) {
+        moveRange(fromIndex, 1, toIndex);
+    }
+
+    /**
+     * Moves {@code count} consecutive tracks starting at {@code fromIndex} so that the first of
+     * them ends up at {@code toIndex}, keeping their order. {@code toIndex} refers to the
+     * playlist after the move, so it ranges from 0 to {@code size() - count}.
+     *
+     * <p>The existing nodes are relinked during a single walk up to the furthest index involved;
+     * no track is removed, re-inserted or copied. Listeners receive a single
+     * {@link PlaylistEvent.Type#MOVED} event.</p>
+     *
+     * @param fromIndex the current 0-based index of the first track to move
+     * @param count     the number of tracks to move (must not be negative)
+     * @param toIndex   the 0-based index of the first moved track after the move
+     * @throws IllegalArgumentException  if count is negative
+     * @throws IndexOutOfBoundsException if the range or the target index is out of bounds
+     */
+    public void moveRange(int fromIndex, int count, int toIndex) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative");
+        }
+        if (fromIndex < 0 || fromIndex > size - count) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + fromIndex);
+        }
+        if (toIndex < 0 || toIndex > size - count) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + toIndex);
+        }
+        if (count == 0 || fromIndex == toIndex) {
+            return;
+        }
+        // Walk once, hopping from each node of interest to the next in list order.
+        TrackNode target = null;
+        TrackNode beforeRange;
+        if (toIndex < fromIndex) {
+            target = toIndex == 0 ? null : advance(head, toIndex - 1);
+            beforeRange = advance(target == null ? head : target, fromIndex - Math.max(toIndex, 1));
+        } else {
+            beforeRange = fromIndex == 0 ? null : advance(head, fromIndex - 1);
+        }
+        TrackNode rangeStart = beforeRange == null ? head : beforeRange.getNext();
+        TrackNode rangeEnd = advance(rangeStart, count - 1);
+        if (toIndex > fromIndex) {
+            // The insertion point lies behind the range in the original order.
+            target = advance(rangeEnd, toIndex - fromIndex);
+        }
+
+        if (beforeRange == null) {
+            head = rangeEnd.getNext();
+        } else {
+            beforeRange.setNext(rangeEnd.getNext());
+        }
+        if (rangeEnd == tail) {
+            tail = beforeRange;
+        }
+        if (target == null) {
+            rangeEnd.setNext(head);
+            head = rangeStart;
+        } else {
+            rangeEnd.setNext(target.getNext());
+            target.setNext(rangeStart);
+            if (target == tail) {
+                tail = rangeEnd;
+            }
+        }
+        modCount++;
+        if (!listeners.isEmpty()) {
+            fire(PlaylistEvent.moved(this, fromIndex, count, toIndex));
+        }
+    }
+
+    /**
+     * Swaps the tracks at the two indices by relinking their nodes in a single walk.
+     * Listeners receive a single {@link PlaylistEvent.Type#SWAPPED} event.
+     *
+     * @param i the 0-based index of the first track
+     * @param j the 0-based index of the second track
+     * @throws IndexOutOfBoundsException if an index is out of bounds
+     */
+    public void swap(int i, int j) {
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + i);
+        }
+        if (j < 0 || j >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + j);
+        }
+        if (i == j) {
+            return;
+        }
+        int low = Math.min(i, j);
+        int high = Math.max(i, j);
+        TrackNode beforeLow = low == 0 ? null : advance(head, low - 1);
+        TrackNode lowNode = beforeLow == null ? head : beforeLow.getNext();
+        TrackNode beforeHigh = advance(lowNode, high - low - 1);
+        TrackNode highNode = beforeHigh.getNext();
+        TrackNode afterHigh = highNode.getNext();
+        if (beforeHigh == lowNode) {
+            highNode.setNext(lowNode);
+        } else {
+            highNode.setNext(lowNode.getNext());
+            beforeHigh.setNext(lowNode);
+        }
+        lowNode.setNext(afterHigh);
+        if (beforeLow == null) {
+            head = highNode;
+        } else {
+            beforeLow.setNext(highNode);
+        }
+        if (highNode == tail) {
+            tail = lowNode;
+        }
+        modCount++;
+        if (!listeners.isEmpty()) {
+            fire(PlaylistEvent.swapped(this, low, high));
+        }
+    }
+
     /**
      * Returns the track at the specified index.
      *
@@ -153,10 +355,14 @@ public class Playlist {
         if (index < 0 || index >= size) {
             throw new IndexOutOfBoundsException("Index out of bounds: " + index);
         }
+        long start = metrics != null ? System.nanoTime() : 0L;
         TrackNode current = head;
         for (int i = 0; i < index; i++) {
             current = current.getNext();
         }
+        if (metrics != null) {
+            metrics.record(PlaylistMetrics.Operation.GET_TRACK, index + 1, start);
+        }
         return current.getTrack();
     }
 
@@ -177,16 +383,17 @@ public class Playlist {
      * @return the index, or -1
      */
     public int indexOf(Track track) {
+        long start = metrics != null ? System.nanoTime() : 0L;
         TrackNode current = head;
         int index = 0;
-        while (current != null) {
-            if (current.getTrack().equals(track)) {
-                return index;
-            }
+        while (current != null && !current.getTrack().equals(track)) {
             current = current.getNext();
             index++;
         }
-        return -1;
+        if (metrics != null) {
+            metrics.record(PlaylistMetrics.Operation.INDEX_OF, current == null ? index : index + 1, start);
+        }
+        return current == null ? -1 : index;
     }
 
     /**
@@ -213,12 +420,16 @@ public class Playlist {
      * @return total duration in seconds
      */
     public int getTotalDuration() {
+        long start = metrics != null ? System.nanoTime() : 0L;
         int total = 0;
         TrackNode current = head;
         while (current != null) {
             total += current.getTrack().getDurationInSeconds();
             current = current.getNext();
         }
+        if (metrics != null) {
+            metrics.record(PlaylistMetrics.Operation.TOTAL_DURATION, size, start);
+        }
         return total;
     }
 
@@ -238,22 +449,577 @@ public class Playlist {
         return String.format("%02d:%02d", minutes, seconds);
     }
 
+    /**
+     * Returns how many tracks are repeats of an earlier track (by title and artist).
+     *
+     * @return the number of tracks that {@link #removeDuplicates()} would remove
+     */
+    public int countDuplicates() {
+        Set<Track> seen = new HashSet<>(Math.max(16, size * 4 / 3 + 1));
+        int duplicates = 0;
+        for (TrackNode current = head; current != null; current = current.getNext()) {
+            if (!seen.add(current.getTrack())) {
+                duplicates++;
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Estimates {@link #countDuplicates()} with a {@link TrackBloomFilter}, using a fixed
+     * amount of memory per track instead of a hash set entry.
+     * The estimate never undercounts; it may overcount by roughly
+     * {@code falsePositiveRate * size()}. The filter hashes each track twice, independently, so
+     * distinct tracks with equal {@link Track#hashCode()}s are not counted as duplicates.
+     *
+     * @param falsePositiveRate the acceptable false positive rate, between 0 and 1 exclusive
+     * @return the estimated number of duplicate tracks
+     * @throws IllegalArgumentException if falsePositiveRate is invalid
+     */
+    public int estimateDuplicates(double falsePositiveRate) {
+        TrackBloomFilter filter = new TrackBloomFilter(Math.max(1, size), falsePositiveRate);
+        int duplicates = 0;
+        for (TrackNode current = head; current != null; current = current.getNext()) {
+            if (!filter.put(current.getTrack())) {
+                duplicates++;
+            }
+        }
+        return duplicates;
+    }
+
+    /**
+     * Removes every track that repeats an earlier track, keeping the first occurrence.
+     *
+     * @return the number of tracks removed
+     */
+    public int removeDuplicates() {
+        Set<Track> seen = new HashSet<>(Math.max(16, size * 4 / 3 + 1));
+        int removed = 0;
+        TrackNode previous = null;
+        TrackNode current = head;
+        int index = 0;
+        while (current != null) {
+            TrackNode next = current.getNext();
+            if (seen.add(current.getTrack())) {
+                previous = current;
+                index++;
+            } else {
+                unlink(previous, current, index);
+                removed++;
+            }
+            current = next;
+        }
+        return removed;
+    }
+
+    /**
+     * Removes every track that repeats a later track, keeping the last occurrence.
+     *
+     * @return the number of tracks removed
+     */
+    public int removeDuplicatesKeepLast() {
+        Map<Track, Integer> remaining = new HashMap<>(Math.max(16, size * 4 / 3 + 1));
+        for (TrackNode current = head; current != null; current = current.getNext()) {
+            remaining.merge(current.getTrack(), 1, Integer::sum);
+        }
+        int removed = 0;
+        TrackNode previous = null;
+        TrackNode current = head;
+        int index = 0;
+        while (current != null) {
+            TrackNode next = current.getNext();
+            int left = remaining.get(current.getTrack());
+            if (left == 1) {
+                previous = current;
+                index++;
+            } else {
+                remaining.put(current.getTrack(), left - 1);
+                unlink(previous, current, index);
+                removed++;
+            }
+            current = next;
+        }
+        return removed;
+    }
+
+    private static TrackNode advance(TrackNode node, int steps) {
+        for (int i = 0; i < steps; i++) {
+            node = node.getNext();
+        }
+        return node;
+    }
+
+    /**
+     * Returns the node at {@code index - 1}, or null if index is 0. Appending uses the tail
+     * reference instead of walking the list.
+     */
+    private TrackNode nodeBefore(int index) {
+        if (index == 0) {
+            return null;
+        }
+        if (index == size) {
+            return tail;
+        }
+        TrackNode current = head;
+        for (int i = 0; i < index - 1; i++) {
+            current = current.getNext();
+        }
+        return current;
+    }
+
+    /** Links a new node for the track after {@code previous} (at the head if null) and returns it. */
+    TrackNode linkAfter(TrackNode previous, Track track, int index) {
+        TrackNode next = previous == null ? head : previous.getNext();
+        TrackNode node = new TrackNode(track, next);
+        if (previous == null) {
+            head = node;
+        } else {
+            previous.setNext(node);
+        }
+        if (node.getNext() == null) {
+            tail = node;
+        }
+        size++;
+        modCount++;
+        if (!listeners.isEmpty()) {
+            fire(PlaylistEvent.inserted(this, index, track));
+        }
+        return node;
+    }
+
+    /** Unlinks {@code node}, which follows {@code previous} (or is the head if null), and returns its track. */
+    Track unlink(TrackNode previous, TrackNode node, int index) {
+        Track track = node.getTrack();
+        if (previous == null) {
+            head = node.getNext();
+        } else {
+            previous.setNext(node.getNext());
+        }
+        if (node == tail) {
+            tail = previous;
+        }
+        size--;
+        modCount++;
+        if (!listeners.isEmpty()) {
+            fire(PlaylistEvent.removed(this, index, track));
+        }
+        return track;
+    }
+
+    /**
+     * Shuffles the playlist so that tracks by the same artist are spread out instead of
+     * bunching up.
+     *
+     * <p>Tracks are grouped by artist and each group is shuffled. The k tracks of a group are
+     * then given evenly spaced positions i/k, shifted by a random offset for the group and a
+     * small random jitter per track, and all tracks are ordered by position. This runs in
+     * O(n log n); existing nodes are relinked, so no {@link Track} or node is copied.
+     * Listeners receive a single {@link PlaylistEvent.Type#REORDERED} event.</p>
+     *
+     * @param random the source of randomness (must not be null)
+     * @throws IllegalArgumentException if random is null
+     */
+    public void spreadShuffle(Random random) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random must not be null");
+        }
+        if (size < 2) {
+            return;
+        }
+        TrackNode[] nodes = new TrackNode[size];
+        Map<String, List<TrackNode>> byArtist = new HashMap<>();
+        for (TrackNode current = head; current != null; current = current.getNext()) {
+            byArtist.computeIfAbsent(current.getTrack().getArtist(), artist -> new ArrayList<>()).add(current);
+        }
+        long[] keys = new long[size];
+        int n = 0;
+        for (List<TrackNode> group : byArtist.values()) {
+            int k = group.size();
+            double offset = random.nextDouble() / k;
+            for (int i = k - 1; i >= 0; i--) {
+                int j = random.nextInt(i + 1);
+                TrackNode swap = group.get(i);
+                group.set(i, group.get(j));
+                group.set(j, swap);
+            }
+            for (int i = 0; i < k; i++) {
+                double jitter = (random.nextDouble() - 0.5) * 0.2 / k;
+                double position = offset + (double) i / k + jitter;
+                // Keys pack the position (shifted to be positive) above the node's slot.
+                keys[n] = ((long) ((position + 1.0) * (1 << 29)) << 32) | n;
+                nodes[n] = group.get(i);
+                n++;
+            }
+        }
+        Arrays.sort(keys);
+        head = nodes[(int) keys[0]];
+        TrackNode previous = head;
+        for (int i = 1; i < size; i++) {
+            TrackNode node = nodes[(int) keys[i]];
+            previous.setNext(node);
+            previous = node;
+        }
+        previous.setNext(null);
+        tail = previous;
+        modCount++;
+        if (!listeners.isEmpty()) {
+            fire(PlaylistEvent.reordered(this, size));
+        }
+    }
+
+    /**
+     * Returns an iterator over the tracks in playlist order.
+     * The iterator fails fast if the playlist is structurally modified while it is in use.
+     *
+     * @return a read-only iterator
+     */
+    @Override
+    public Iterator<Track> iterator() {
+        return new Iterator<>() {
+            private final int expectedModCount = modCount;
+            private TrackNode current = head;
+
+            @Override
+            public boolean hasNext() {
+                return current != null;
+            }
+
+            @Override
+            public Track next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (current == null) {
+                    throw new NoSuchElementException();
+                }
+                Track track = current.getTrack();
+                current = current.getNext();
+                return track;
+            }
+        };
+    }
+
+    /**
+     * Returns a read-only view of the tracks from {@code fromIndex} (inclusive) to
+     * {@code toIndex} (exclusive). The view shares this playlist's nodes and fails fast with a
+     * {@link java.util.ConcurrentModificationException} once the playlist is structurally
+     * modified.
+     *
+     * @param fromIndex the first index of the window
+     * @param toIndex   the index after the last track of the window
+     * @return the window view
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    public List<Track> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Invalid range: " + fromIndex + ".." + toIndex);
+        }
+        return new PlaylistViews.SubList(this, fromIndex, toIndex);
+    }
+
+    /**
+     * Returns a read-only view of the tracks in reverse order. Iterating it takes O(n) time
+     * and O(sqrt(n)) extra memory. The view fails fast once the playlist is structurally
+     * modified.
+     *
+     * @return the reversed view
+     */
+    public List<Track> reversed() {
+        return new PlaylistViews.Reversed(this);
+    }
+
+    /**
+     * Returns a lazily evaluated view of the tracks that match the predicate, in playlist
+     * order. The view fails fast once the playlist is structurally modified.
+     *
+     * @param filter the predicate selecting tracks (must not be null)
+     * @return the filtered view
+     * @throws IllegalArgumentException if filter is null
+     */
+    public Iterable<Track> filtered(Predicate<? super Track> filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter must not be null");
+        }
+        return new PlaylistViews.Filtered(this, filter);
+    }
+
+    /**
+     * Returns a cursor positioned before the first track, which can remove, insert and
+     * replace tracks in O(1) while walking the playlist.
+     *
+     * @return a new cursor
+     */
+    public PlaylistCursor cursor() {
+        return new PlaylistCursor(this);
+    }
+
+    /**
+     * Replaces the track of a node in place and fires a single {@link PlaylistEvent.Type#REPLACED}
+     * event, so that one undo restores the old track.
+     */
+    void replace(TrackNode node, Track track, int index) {
+        Track old = node.getTrack();
+        node.setTrack(track);
+        rendered = null;
+        if (!listeners.isEmpty()) {
+            fire(PlaylistEvent.replaced(this, index, old, track));
+        }
+    }
+
+    /** Replaces the track at an index in place, as {@link #replace} does; used to undo and redo. */
+    void replaceAt(int index, Track track) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + index);
+        }
+        replace(index == 0 ? head : nodeBefore(index).getNext(), track, index);
+    }
+
+    TrackNode head() {
+        return head;
+    }
+
+    int modCount() {
+        return modCount;
+    }
+
+    /**
+     * Moves all tracks of {@code other} to the end of this playlist in O(1) by linking its node
+     * chain behind this playlist's tail.
+     *
+     * <p>Ownership of the nodes is transferred: {@code other} is left empty and its listeners
+     * receive a {@link PlaylistEvent.Type#CLEARED} event that cannot be undone, since the nodes
+     * now belong to this playlist and cannot be restored there. Listeners of this playlist receive
+     * a single {@link PlaylistEvent.Type#SPLICED} event.</p>
+     *
+     * @param other the playlist to drain (must not be null or this playlist)
+     * @throws IllegalArgumentException if other is null or this playlist
+     */
+    public void appendAll(Playlist other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Playlist must not be null");
+        }
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot append a playlist to itself");
+        }
+        int count = other.size;
+        if (count == 0) {
+            return;
+        }
+        TrackNode first = other.head;
+        TrackNode last = other.tail;
+        other.transferChain();
+        int index = size;
+        if (tail == null) {
+            head = first;
+        } else {
+            tail.setNext(first);
+        }
+        tail = last;
+        size += count;
+        modCount++;
+        if (!listeners.isEmpty()) {
+            fire(PlaylistEvent.spliced(this, index, count, first, last));
+        }
+    }
+
+    /**
+     * Creates a playlist holding the tracks of all given playlists, in order, by splicing
+     * their node chains together in O(k) for k playlists. The given playlists are drained as
+     * described in {@link #appendAll(Playlist)}.
+     *
+     * @param name      the name of the new playlist
+     * @param playlists the playlists to drain (must not be null or contain null)
+     * @return the concatenated playlist
+     * @throws IllegalArgumentException if playlists is null or contains null
+     */
+    public static Playlist concat(String name, List<Playlist> playlists) {
+        requireNoNulls(playlists);
+        Playlist result = new Playlist(name);
+        for (Playlist playlist : playlists) {
+            result.appendAll(playlist);
+        }
+        return result;
+    }
+
+    /**
+     * Merges playlists that are each sorted by {@code order} into one sorted playlist in
+     * O(n log k) for n tracks in k playlists, relinking the existing nodes. Tracks that compare
+     * equal keep the order of the playlists in the list. The given playlists are drained as
+     * described in {@link #appendAll(Playlist)}; if one is not sorted, the result contains all
+     * tracks but is not sorted either.
+     *
+     * @param name      the name of the new playlist
+     * @param playlists the sorted playlists to drain (must not be null or contain null)
+     * @param order     the order the playlists are sorted by (must not be null)
+     * @return the merged playlist
+     * @throws IllegalArgumentException if an argument is null or playlists contains null
+     */
+    public static Playlist mergeSorted(String name, List<Playlist> playlists, Comparator<? super Track> order) {
+        requireNoNulls(playlists);
+        if (order == null) {
+            throw new IllegalArgumentException("Order must not be null");
+        }
+        PriorityQueue<MergeCursor> heap = new PriorityQueue<>(Math.max(1, playlists.size()), (a, b) -> {
+            int c = order.compare(a.node.getTrack(), b.node.getTrack());
+            return c != 0 ? c : Integer.compare(a.source, b.source);
+        });
+        Playlist result = new Playlist(name);
+        int total = 0;
+        for (int i = 0; i < playlists.size(); i++) {
+            Playlist playlist = playlists.get(i);
+            if (playlist.size > 0) {
+                heap.add(new MergeCursor(playlist.head, playlist.tail, i));
+                total += playlist.size;
+                playlist.transferChain();
+            }
+        }
+        TrackNode last = null;
+        while (heap.size() > 1) {
+            MergeCursor cursor = heap.poll();
+            TrackNode node = cursor.node;
+            if (last == null) {
+                result.head = node;
+            } else {
+                last.setNext(node);
+            }
+            last = node;
+            if (node != cursor.last) {
+                cursor.node = node.getNext();
+                heap.add(cursor);
+            }
+        }
+        MergeCursor remaining = heap.poll();
+        if (remaining != null) {
+            // The last non-empty source is still linked up to its own tail.
+            if (last == null) {
+                result.head = remaining.node;
+            } else {
+                last.setNext(remaining.node);
+            }
+            last = remaining.last;
+        }
+        result.tail = last;
+        result.size = total;
+        return result;
+    }
+
+    private static void requireNoNulls(List<Playlist> playlists) {
+        if (playlists == null) {
+            throw new IllegalArgumentException("Playlists must not be null");
+        }
+        for (Playlist playlist : playlists) {
+            if (playlist == null) {
+                throw new IllegalArgumentException("Playlists must not be null");
+            }
+        }
+    }
+
+    /** Position in one source chain of {@link #mergeSorted}; the source index keeps the merge stable. */
+    private static final class MergeCursor {
+        private TrackNode node;
+        private final TrackNode last;
+        private final int source;
+
+        MergeCursor(TrackNode node, TrackNode last, int source) {
+            this.node = node;
+            this.last = last;
+            this.source = source;
+        }
+    }
+
+    /**
+     * Empties the playlist before its node chain is taken over by another playlist. The event
+     * carries the chain, still intact, so listeners can see which tracks left.
+     */
+    private void transferChain() {
+        int removed = size;
+        TrackNode first = head;
+        TrackNode last = tail;
+        head = null;
+        tail = null;
+        size = 0;
+        modCount++;
+        if (!listeners.isEmpty()) {
+            fire(PlaylistEvent.transferred(this, removed, first, last));
+        }
+    }
+
     /**
      * Removes all tracks from the playlist.
+     * A {@link PlaylistEvent.Type#CLEARED} event is only emitted if the playlist was not empty.
      */
     public void clear() {
+        int removed = size;
+        TrackNode detachedHead = head;
+        TrackNode detachedTail = tail;
         head = null;
+        tail = null;
         size = 0;
+        modCount++;
+        if (removed > 0 && !listeners.isEmpty()) {
+            fire(PlaylistEvent.cleared(this, removed, detachedHead, detachedTail));
+        }
     }
 
+    /**
+     * Links a chain of nodes, previously detached by {@link #clear()}, back into this empty
+     * playlist in O(1).
+     *
+     * @param first the first node of the chain
+     * @param last  the last node of the chain
+     * @param count the number of nodes in the chain
+     * @throws IllegalStateException if the playlist is not empty
+     */
+    void restoreChain(TrackNode first, TrackNode last, int count) {
+        if (size != 0) {
+            throw new IllegalStateException("Playlist must be empty to restore a chain");
+        }
+        head = first;
+        tail = last;
+        size = count;
+        modCount++;
+        if (!listeners.isEmpty()) {
+            fire(PlaylistEvent.spliced(this, 0, count, first, last));
+        }
+    }
+
+    /**
+     * Returns a listing of the playlist. A listing of at most {@value #RENDER_CACHE_MAX_CHARS}
+     * characters is cached until the next change, so re-rendering an unchanged playlist does not
+     * format anything; longer listings are rebuilt on every call, so a playlist never pins more
+     * than that budget. Tracks themselves cache nothing. Cache hits and misses are recorded in
+     * the attached {@link PlaylistMetrics}.
+     *
+     * @return the listing
+     */
     @Override
     public String toString() {
+        if (rendered != null && renderedModCount == modCount) {
+            if (metrics != null) {
+                metrics.recordRender(true);
+            }
+            return rendered;
+        }
+        if (metrics != null) {
+            metrics.recordRender(false);
+        }
+        String listing = render();
+        if (listing.length() <= RENDER_CACHE_MAX_CHARS) {
+            rendered = listing;
+            renderedModCount = modCount;
+        } else {
+            rendered = null;
+        }
+        return listing;
+    }
+
+    private String render() {
         StringBuilder sb = new StringBuilder();
         sb.append("Playlist '").append(name).append("' [").append(size).append(" tracks]:\n");
         TrackNode current = head;
         int index = 0;
         while (current != null) {
-            sb.append("  ").append(index).append(". ").append(current.getTrack()).append("\n");
+            current.getTrack().appendTo(sb.append("  ").append(index).append(". ")).append('\n');
             current = current.getNext();
             index++;
         }
@@ -0,0 +1,420 @@
+package com.musiclist;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * A compact columnar storage format for a single {@link Playlist}.
+ *
+ * <p>Tracks are written in blocks of up to {@value #BLOCK_SIZE}. Within a block the artists,
+ * the titles and the durations are stored as separate columns: artists and titles as varint
+ * ids into a dictionary that is shared by the whole stream (each string is stored once, in the
+ * block where it first occurs), durations bit-packed with the smallest width that fits the
+ * block's longest track. Each block can optionally be compressed with {@link Deflater}.</p>
+ *
+ * <p>{@link #reader(InputStream)} decodes one block at a time, so memory use while iterating
+ * is bounded by the block size and the dictionary, regardless of the playlist length.</p>
+ */
+public final class PlaylistCodec {
+
+    static final int MAGIC = 0x4D4C5043;
+    static final int VERSION = 1;
+    static final int BLOCK_SIZE = 4096;
+    private static final int FLAG_DEFLATE = 1;
+    private static final int FLAG_NAMED = 2;
+
+    private PlaylistCodec() {
+    }
+
+    /**
+     * Writes a playlist.
+     *
+     * @param playlist the playlist to write (must not be null)
+     * @param out      the stream to write to; it is not closed
+     * @param deflate  whether to compress every block with {@link Deflater}
+     * @throws IllegalArgumentException if playlist or out is null
+     * @throws IOException              if writing fails
+     */
+    public static void write(Playlist playlist, OutputStream out, boolean deflate) throws IOException {
+        if (playlist == null) {
+            throw new IllegalArgumentException("Playlist must not be null");
+        }
+        if (out == null) {
+            throw new IllegalArgumentException("Output stream must not be null");
+        }
+        ByteArrayOutputStream header = new ByteArrayOutputStream();
+        writeInt(header, MAGIC);
+        header.write(VERSION);
+        header.write((deflate ? FLAG_DEFLATE : 0) | (playlist.getName() != null ? FLAG_NAMED : 0));
+        if (playlist.getName() != null) {
+            writeString(header, playlist.getName());
+        }
+        header.writeTo(out);
+
+        Map<String, Integer> dictionary = new HashMap<>();
+        Deflater deflater = deflate ? new Deflater() : null;
+        Track[] block = new Track[Math.min(BLOCK_SIZE, Math.max(1, playlist.size()))];
+        int count = 0;
+        try {
+            for (Track track : playlist) {
+                block[count++] = track;
+                if (count == block.length) {
+                    writeBlock(out, block, count, dictionary, deflater);
+                    count = 0;
+                }
+            }
+            if (count > 0) {
+                writeBlock(out, block, count, dictionary, deflater);
+            }
+        } finally {
+            if (deflater != null) {
+                deflater.end();
+            }
+        }
+        out.write(0);
+    }
+
+    /**
+     * Reads a whole playlist.
+     *
+     * @param in the stream to read from; it is not closed
+     * @return the playlist
+     * @throws IllegalArgumentException if in is null
+     * @throws IOException              if reading fails or the data is corrupt
+     */
+    public static Playlist read(InputStream in) throws IOException {
+        Reader reader = reader(in);
+        Playlist playlist = new Playlist(reader.getName());
+        try {
+            while (reader.hasNext()) {
+                playlist.addTrack(reader.next());
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            reader.close();
+        }
+        return playlist;
+    }
+
+    /**
+     * Opens a streaming reader over an encoded playlist. The header is read immediately;
+     * blocks are read and decoded as the reader advances.
+     *
+     * @param in the stream to read from; closing the reader does not close it
+     * @return the reader
+     * @throws IllegalArgumentException if in is null
+     * @throws IOException              if the header cannot be read or is not valid
+     */
+    public static Reader reader(InputStream in) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("Input stream must not be null");
+        }
+        return new Reader(in);
+    }
+
+    private static void writeBlock(OutputStream out, Track[] block, int count,
+                                   Map<String, Integer> dictionary, Deflater deflater) throws IOException {
+        ByteArrayOutputStream newStrings = new ByteArrayOutputStream();
+        ByteArrayOutputStream columns = new ByteArrayOutputStream(count * 4);
+        int firstNewId = dictionary.size();
+        int maxDuration = 0;
+        for (int i = 0; i < count; i++) {
+            writeVarint(columns, idOf(block[i].getArtist(), dictionary, newStrings));
+            maxDuration = Math.max(maxDuration, block[i].getDurationInSeconds());
+        }
+        for (int i = 0; i < count; i++) {
+            writeVarint(columns, idOf(block[i].getTitle(), dictionary, newStrings));
+        }
+        int width = 32 - Integer.numberOfLeadingZeros(maxDuration);
+        columns.write(width);
+        long bits = 0;
+        int pending = 0;
+        for (int i = 0; i < count; i++) {
+            bits |= (long) block[i].getDurationInSeconds() << pending;
+            pending += width;
+            while (pending >= 8) {
+                columns.write((int) bits);
+                bits >>>= 8;
+                pending -= 8;
+            }
+        }
+        if (pending > 0) {
+            columns.write((int) bits);
+        }
+
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(newStrings.size() + columns.size() + 5);
+        writeVarint(raw, dictionary.size() - firstNewId);
+        newStrings.writeTo(raw);
+        columns.writeTo(raw);
+        byte[] payload = raw.toByteArray();
+        int storedLength = payload.length;
+        if (deflater != null) {
+            deflater.reset();
+            deflater.setInput(payload);
+            deflater.finish();
+            byte[] compressed = new byte[payload.length + 64];
+            storedLength = 0;
+            while (!deflater.finished()) {
+                if (storedLength == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                storedLength += deflater.deflate(compressed, storedLength, compressed.length - storedLength);
+            }
+            payload = compressed;
+        }
+        ByteArrayOutputStream blockHeader = new ByteArrayOutputStream(15);
+        writeVarint(blockHeader, count);
+        writeVarint(blockHeader, raw.size());
+        writeVarint(blockHeader, storedLength);
+        blockHeader.writeTo(out);
+        out.write(payload, 0, storedLength);
+    }
+
+    private static int idOf(String string, Map<String, Integer> dictionary, ByteArrayOutputStream newStrings) {
+        Integer id = dictionary.get(string);
+        if (id == null) {
+            id = dictionary.size();
+            dictionary.put(string, id);
+            writeString(newStrings, string);
+        }
+        return id;
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String string) {
+        byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, utf8.length);
+        out.write(utf8, 0, utf8.length);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value >>> 24);
+        out.write(value >>> 16);
+        out.write(value >>> 8);
+        out.write(value);
+    }
+
+    static void writeVarint(ByteArrayOutputStream out, int value) {
+        while ((value & ~0x7F) != 0) {
+            out.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write(value);
+    }
+
+    /**
+     * Iterates over the tracks of an encoded playlist, decoding one block at a time.
+     * {@link #hasNext()} and {@link #next()} throw an {@link UncheckedIOException} if a block
+     * cannot be read or is corrupt.
+     */
+    public static final class Reader implements Iterator<Track>, Closeable {
+
+        private final DataInputStream in;
+        private final boolean deflated;
+        private final String name;
+        private final List<String> dictionary = new ArrayList<>();
+        private Inflater inflater;
+        private int[] artists = new int[0];
+        private int[] titles = new int[0];
+        private int[] durations = new int[0];
+        private int count;
+        private int position;
+        private boolean finished;
+
+        private Reader(InputStream in) throws IOException {
+            this.in = new DataInputStream(in);
+            if (this.in.readInt() != MAGIC) {
+                throw new IOException("Not an encoded playlist");
+            }
+            int version = this.in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported playlist encoding version " + version);
+            }
+            int flags = this.in.readUnsignedByte();
+            this.deflated = (flags & FLAG_DEFLATE) != 0;
+            this.name = (flags & FLAG_NAMED) != 0 ? new String(readBytes(readVarint()), StandardCharsets.UTF_8) : null;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < count) {
+                return true;
+            }
+            if (finished) {
+                return false;
+            }
+            try {
+                readBlock();
+            } catch (IOException e) {
+                finished = true;
+                count = 0;
+                throw new UncheckedIOException(e);
+            }
+            return position < count;
+        }
+
+        @Override
+        public Track next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int i = position++;
+            try {
+                return new Track(dictionary.get(titles[i]), dictionary.get(artists[i]), durations[i]);
+            } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+                throw new UncheckedIOException(new IOException("Corrupt playlist block", e));
+            }
+        }
+
+        /**
+         * Releases the decompressor. The underlying stream is not closed.
+         */
+        @Override
+        public void close() {
+            if (inflater != null) {
+                inflater.end();
+                inflater = null;
+            }
+            finished = true;
+            count = 0;
+        }
+
+        private void readBlock() throws IOException {
+            position = 0;
+            count = readVarint();
+            if (count == 0) {
+                finished = true;
+                return;
+            }
+            int rawLength = readVarint();
+            if (count < 0 || rawLength < 0) {
+                throw new IOException("Corrupt playlist block");
+            }
+            byte[] payload = readBytes(readVarint());
+            if (deflated) {
+                payload = inflate(payload, rawLength);
+            }
+            try {
+                decodeBlock(payload);
+            } catch (IndexOutOfBoundsException | NegativeArraySizeException e) {
+                throw new IOException("Corrupt playlist block", e);
+            }
+        }
+
+        private void decodeBlock(byte[] payload) {
+            int[] cursor = {0};
+            int newStrings = readVarint(payload, cursor);
+            for (int i = 0; i < newStrings; i++) {
+                int length = readVarint(payload, cursor);
+                dictionary.add(new String(payload, cursor[0], length, StandardCharsets.UTF_8));
+                cursor[0] += length;
+            }
+            if (artists.length < count) {
+                artists = new int[count];
+                titles = new int[count];
+                durations = new int[count];
+            }
+            for (int i = 0; i < count; i++) {
+                artists[i] = readVarint(payload, cursor);
+            }
+            for (int i = 0; i < count; i++) {
+                titles[i] = readVarint(payload, cursor);
+            }
+            int width = payload[cursor[0]++];
+            int mask = (1 << width) - 1;
+            long bits = 0;
+            int available = 0;
+            for (int i = 0; i < count; i++) {
+                while (available < width) {
+                    bits |= (long) (payload[cursor[0]++] & 0xFF) << available;
+                    available += 8;
+                }
+                durations[i] = (int) bits & mask;
+                bits >>>= width;
+                available -= width;
+            }
+        }
+
+        private byte[] inflate(byte[] compressed, int rawLength) throws IOException {
+            if (inflater == null) {
+                inflater = new Inflater();
+            }
+            inflater.reset();
+            inflater.setInput(compressed);
+            byte[] raw = new byte[rawLength];
+            try {
+                int length = 0;
+                while (length < rawLength && !inflater.finished()) {
+                    int n = inflater.inflate(raw, length, rawLength - length);
+                    if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    length += n;
+                }
+                if (length != rawLength) {
+                    throw new IOException("Corrupt playlist block");
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Corrupt playlist block", e);
+            }
+            return raw;
+        }
+
+        private byte[] readBytes(int length) throws IOException {
+            if (length < 0) {
+                throw new IOException("Corrupt playlist encoding");
+            }
+            byte[] bytes = new byte[length];
+            in.readFully(bytes);
+            return bytes;
+        }
+
+        private int readVarint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = in.read();
+                if (b < 0) {
+                    throw new EOFException("Truncated playlist encoding");
+                }
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+        private static int readVarint(byte[] bytes, int[] cursor) {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = bytes[cursor[0]++];
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IndexOutOfBoundsException("Malformed varint");
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.musiclist;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A cursor over a {@link Playlist} that can edit the playlist at its position while walking
+ * it, obtained from {@link Playlist#cursor()}.
+ *
+ * <p>The cursor sits between two tracks. {@link #next()} moves it past the next track;
+ * {@link #remove()} and {@link #set(Track)} act on the track last returned by {@code next()},
+ * and {@link #add(Track)} inserts before the cursor. The cursor keeps references to the nodes
+ * around its position, so every edit is O(1) and a single-pass filter or rewrite of the whole
+ * playlist is O(n). There is no {@code previous()}, since nodes only link forward.</p>
+ *
+ * <p>Edits made through the cursor fire the usual {@link PlaylistEvent}s. Any structural change
+ * made to the playlist other than through this cursor makes it fail with a
+ * {@link ConcurrentModificationException}.</p>
+ */
+public final class PlaylistCursor implements Iterator<Track> {
+
+    private final Playlist playlist;
+    private int expectedModCount;
+    /** The node before the cursor, or null at the beginning. */
+    private TrackNode before;
+    /** The node after the cursor, or null at the end. */
+    private TrackNode after;
+    /** The node last returned by next(), or null if it was removed or an add followed it. */
+    private TrackNode lastReturned;
+    /** The node before lastReturned, or null if lastReturned is the head. */
+    private TrackNode beforeLastReturned;
+    private int nextIndex;
+
+    PlaylistCursor(Playlist playlist) {
+        this.playlist = playlist;
+        this.expectedModCount = playlist.modCount();
+        this.after = playlist.head();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return after != null;
+    }
+
+    @Override
+    public Track next() {
+        checkForComodification();
+        if (after == null) {
+            throw new NoSuchElementException();
+        }
+        beforeLastReturned = before;
+        lastReturned = after;
+        before = after;
+        after = after.getNext();
+        nextIndex++;
+        return lastReturned.getTrack();
+    }
+
+    /**
+     * Returns the index of the track that the next call to {@link #next()} would return.
+     *
+     * @return the index after the cursor, equal to the playlist size at the end
+     */
+    public int nextIndex() {
+        return nextIndex;
+    }
+
+    /**
+     * Removes the track last returned by {@link #next()}.
+     *
+     * @throws IllegalStateException if next() has not been called, or remove() or add() has
+     *                               been called after the last call to next()
+     */
+    @Override
+    public void remove() {
+        checkForComodification();
+        if (lastReturned == null) {
+            throw new IllegalStateException("No track to remove");
+        }
+        playlist.unlink(beforeLastReturned, lastReturned, nextIndex - 1);
+        before = beforeLastReturned;
+        lastReturned = null;
+        nextIndex--;
+        expectedModCount = playlist.modCount();
+    }
+
+    /**
+     * Inserts a track before the cursor, so that it is not returned by the next call to
+     * {@link #next()}.
+     *
+     * @param track the track to insert (must not be null)
+     * @throws IllegalArgumentException if track is null
+     */
+    public void add(Track track) {
+        if (track == null) {
+            throw new IllegalArgumentException("Track must not be null");
+        }
+        checkForComodification();
+        before = playlist.linkAfter(before, track, nextIndex);
+        lastReturned = null;
+        nextIndex++;
+        expectedModCount = playlist.modCount();
+    }
+
+    /**
+     * Replaces the track last returned by {@link #next()}, keeping its node.
+     *
+     * @param track the new track (must not be null)
+     * @throws IllegalArgumentException if track is null
+     * @throws IllegalStateException    if next() has not been called, or remove() or add() has
+     *                                  been called after the last call to next()
+     */
+    public void set(Track track) {
+        if (track == null) {
+            throw new IllegalArgumentException("Track must not be null");
+        }
+        checkForComodification();
+        if (lastReturned == null) {
+            throw new IllegalStateException("No track to replace");
+        }
+        playlist.replace(lastReturned, track, nextIndex - 1);
+    }
+
+    private void checkForComodification() {
+        if (playlist.modCount() != expectedModCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+}
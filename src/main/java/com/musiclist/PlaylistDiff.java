@@ -0,0 +1,301 @@
+package com.musiclist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An edit script that turns one playlist into another, computed with the linear-space variant
+ * of Myers' O((n + m) * d) difference algorithm over {@link Track} equality.
+ *
+ * <p>Edits are ordered by non-increasing index, so applying them one after another never
+ * shifts the position of an edit that is still to come. {@link #applyTo(Playlist)} instead
+ * walks them from the front in a single pass with a {@link PlaylistCursor}, so applying a diff
+ * costs O(n + d) rather than one O(n) lookup per edit.</p>
+ */
+public class PlaylistDiff {
+
+    /**
+     * A single insertion or deletion.
+     */
+    public static final class Edit {
+
+        /**
+         * The kind of edit.
+         */
+        public enum Type {
+            INSERT,
+            DELETE
+        }
+
+        private final Type type;
+        private final int index;
+        private final Track track;
+
+        Edit(Type type, int index, Track track) {
+            this.type = type;
+            this.index = index;
+            this.track = track;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public int getIndex() {
+            return index;
+        }
+
+        /**
+         * Returns the track to insert, or the track expected at the index for a deletion.
+         *
+         * @return the affected track
+         */
+        public Track getTrack() {
+            return track;
+        }
+
+        @Override
+        public String toString() {
+            return (type == Type.INSERT ? "+" : "-") + index + " " + track;
+        }
+    }
+
+    private final List<Edit> edits;
+
+    private PlaylistDiff(List<Edit> edits) {
+        this.edits = Collections.unmodifiableList(edits);
+    }
+
+    /**
+     * Computes the shortest edit script that turns {@code source} into {@code target}.
+     *
+     * @param source the playlist to patch (must not be null)
+     * @param target the desired contents (must not be null)
+     * @return the diff
+     * @throws IllegalArgumentException if either playlist is null
+     */
+    public static PlaylistDiff between(Playlist source, Playlist target) {
+        if (source == null || target == null) {
+            throw new IllegalArgumentException("Playlists must not be null");
+        }
+        Track[] a = toArray(source);
+        Track[] b = toArray(target);
+        int[] ha = hashes(a);
+        int[] hb = hashes(b);
+
+        List<Edit> edits = new ArrayList<>();
+        diff(a, ha, 0, a.length, b, hb, 0, b.length, edits);
+        Collections.reverse(edits);
+        return new PlaylistDiff(edits);
+    }
+
+    /**
+     * Returns the edits in the order they must be applied.
+     *
+     * @return an unmodifiable list of edits
+     */
+    public List<Edit> getEdits() {
+        return edits;
+    }
+
+    /**
+     * Returns the number of edits.
+     *
+     * @return the edit count
+     */
+    public int size() {
+        return edits.size();
+    }
+
+    /**
+     * Returns true if both playlists had equal contents.
+     *
+     * @return true if there are no edits
+     */
+    public boolean isEmpty() {
+        return edits.isEmpty();
+    }
+
+    /**
+     * Applies the edits to a playlist that has the contents of the diff's source.
+     *
+     * @param playlist the playlist to patch (must not be null)
+     * @throws IllegalArgumentException  if playlist is null
+     * @throws IllegalStateException     if a deleted track does not match; the playlist is then
+     *                                   left partially patched
+     * @throws IndexOutOfBoundsException if an edit does not fit the playlist
+     */
+    public void applyTo(Playlist playlist) {
+        if (playlist == null) {
+            throw new IllegalArgumentException("Playlist must not be null");
+        }
+        PlaylistCursor cursor = playlist.cursor();
+        int position = 0;
+        for (int e = edits.size() - 1; e >= 0; e--) {
+            Edit edit = edits.get(e);
+            while (position < edit.getIndex()) {
+                advance(cursor, edit);
+                position++;
+            }
+            if (edit.getType() == Edit.Type.INSERT) {
+                cursor.add(edit.getTrack());
+            } else {
+                Track removed = advance(cursor, edit);
+                position++;
+                if (!removed.equals(edit.getTrack())) {
+                    throw new IllegalStateException("Patch does not apply at index " + edit.getIndex()
+                            + ": expected " + edit.getTrack() + " but found " + removed);
+                }
+                cursor.remove();
+            }
+        }
+    }
+
+    private static Track advance(PlaylistCursor cursor, Edit edit) {
+        if (!cursor.hasNext()) {
+            throw new IndexOutOfBoundsException("Index out of bounds: " + edit.getIndex());
+        }
+        return cursor.next();
+    }
+
+    @Override
+    public String toString() {
+        return "PlaylistDiff" + edits;
+    }
+
+    private static Track[] toArray(Playlist playlist) {
+        Track[] tracks = new Track[playlist.size()];
+        int i = 0;
+        for (Track track : playlist) {
+            tracks[i++] = track;
+        }
+        return tracks;
+    }
+
+    private static int[] hashes(Track[] tracks) {
+        int[] hashes = new int[tracks.length];
+        for (int i = 0; i < tracks.length; i++) {
+            hashes[i] = tracks[i].hashCode();
+        }
+        return hashes;
+    }
+
+    private static boolean same(Track[] a, int[] ha, int i, Track[] b, int[] hb, int j) {
+        return ha[i] == hb[j] && a[i].equals(b[j]);
+    }
+
+    /**
+     * Appends the edits for a[aLo..aHi) and b[bLo..bHi) in path order, front to back. After
+     * stripping the common prefix and suffix, the problem is split at a point of an optimal
+     * path found by {@link #split}, and both halves are solved recursively.
+     */
+    private static void diff(Track[] a, int[] ha, int aLo, int aHi,
+                             Track[] b, int[] hb, int bLo, int bHi, List<Edit> edits) {
+        while (aLo < aHi && bLo < bHi && same(a, ha, aLo, b, hb, bLo)) {
+            aLo++;
+            bLo++;
+        }
+        while (aLo < aHi && bLo < bHi && same(a, ha, aHi - 1, b, hb, bHi - 1)) {
+            aHi--;
+            bHi--;
+        }
+        if (aLo == aHi) {
+            for (int j = bLo; j < bHi; j++) {
+                edits.add(new Edit(Edit.Type.INSERT, aLo, b[j]));
+            }
+            return;
+        }
+        if (bLo == bHi) {
+            for (int i = aLo; i < aHi; i++) {
+                edits.add(new Edit(Edit.Type.DELETE, i, a[i]));
+            }
+            return;
+        }
+        int[] point = split(a, ha, aLo, aHi, b, hb, bLo, bHi);
+        diff(a, ha, aLo, point[0], b, hb, bLo, point[1], edits);
+        diff(a, ha, point[0], aHi, b, hb, point[1], bHi, edits);
+    }
+
+    /**
+     * Runs the greedy pass from both corners at once until the forward and the reverse frontier
+     * meet on a diagonal, and returns the meeting point {x, y} in absolute coordinates. It lies
+     * on an optimal path with about half of the edits on either side, and only the two current
+     * frontiers are kept, so memory stays O(n + m). Both ranges must be non-empty and differ
+     * at their first and last positions.
+     */
+    private static int[] split(Track[] a, int[] ha, int aLo, int aHi, Track[] b, int[] hb, int bLo, int bHi) {
+        int n = aHi - aLo;
+        int m = bHi - bLo;
+        int maxD = (n + m + 1) / 2;
+        int offset = maxD;
+        int length = 2 * maxD + 2;
+        int[] forward = new int[length];
+        int[] reverse = new int[length];
+        Arrays.fill(forward, -1);
+        Arrays.fill(reverse, -1);
+        forward[offset + 1] = 0;
+        reverse[offset + 1] = 0;
+        int delta = n - m;
+        boolean odd = (delta & 1) != 0;
+        // Diagonals whose frontier has left the grid are not extended any further.
+        int forwardStart = 0;
+        int forwardEnd = 0;
+        int reverseStart = 0;
+        int reverseEnd = 0;
+        for (int d = 0; d < maxD; d++) {
+            for (int k = -d + forwardStart; k <= d - forwardEnd; k += 2) {
+                int x;
+                if (k == -d || (k != d && forward[offset + k - 1] < forward[offset + k + 1])) {
+                    x = forward[offset + k + 1];
+                } else {
+                    x = forward[offset + k - 1] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m && same(a, ha, aLo + x, b, hb, bLo + y)) {
+                    x++;
+                    y++;
+                }
+                forward[offset + k] = x;
+                if (x > n) {
+                    forwardEnd += 2;
+                } else if (y > m) {
+                    forwardStart += 2;
+                } else if (odd) {
+                    int c = offset + delta - k;
+                    if (c >= 0 && c < length && reverse[c] != -1 && x >= n - reverse[c]) {
+                        return new int[] {aLo + x, bLo + y};
+                    }
+                }
+            }
+            for (int k = -d + reverseStart; k <= d - reverseEnd; k += 2) {
+                int x;
+                if (k == -d || (k != d && reverse[offset + k - 1] < reverse[offset + k + 1])) {
+                    x = reverse[offset + k + 1];
+                } else {
+                    x = reverse[offset + k - 1] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m && same(a, ha, aHi - 1 - x, b, hb, bHi - 1 - y)) {
+                    x++;
+                    y++;
+                }
+                reverse[offset + k] = x;
+                if (x > n) {
+                    reverseEnd += 2;
+                } else if (y > m) {
+                    reverseStart += 2;
+                } else if (!odd) {
+                    int c = offset + delta - k;
+                    if (c >= 0 && c < length && forward[c] != -1 && forward[c] >= n - x) {
+                        int forwardX = forward[c];
+                        return new int[] {aLo + forwardX, bLo + forwardX - (c - offset)};
+                    }
+                }
+            }
+        }
+        // Only reached if the ranges share nothing; any point on the border is then optimal.
+        return new int[] {aLo, bHi};
+    }
+}
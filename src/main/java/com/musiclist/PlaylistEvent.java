@@ -0,0 +1,190 @@
+package com.musiclist;
+
+/**
+ * Describes a single structural change made to a {@link Playlist}.
+ */
+public class PlaylistEvent {
+
+    /**
+     * The kind of change an event describes.
+     */
+    public enum Type {
+        /** A track was inserted at {@link #getIndex()}. */
+        INSERTED,
+        /** The track at {@link #getIndex()} was removed. */
+        REMOVED,
+        /**
+         * The track at {@link #getIndex()} was replaced by {@link #getTrack()} in place; the old
+         * track is {@link #getReplacedTrack()}.
+         */
+        REPLACED,
+        /** All {@link #getCount()} tracks were removed at once. */
+        CLEARED,
+        /** A chain of {@link #getCount()} tracks was linked in at {@link #getIndex()} at once. */
+        SPLICED,
+        /** All {@link #getCount()} tracks were put into a new order; indices are no longer valid. */
+        REORDERED,
+        /**
+         * The {@link #getCount()} tracks starting at {@link #getIndex()} were moved to start at
+         * {@link #getToIndex()}.
+         */
+        MOVED,
+        /** The tracks at {@link #getIndex()} and {@link #getToIndex()} swapped places. */
+        SWAPPED
+    }
+
+    private final Playlist playlist;
+    private final Type type;
+    private final int index;
+    private final Track track;
+    private final int count;
+    private final int toIndex;
+    private final TrackNode chain;
+    private final TrackNode chainEnd;
+    private final boolean restorable;
+    private final Track replacedTrack;
+
+    PlaylistEvent(Playlist playlist, Type type, int index, Track track, int count, int toIndex,
+                  TrackNode chain, TrackNode chainEnd) {
+        this(playlist, type, index, track, count, toIndex, chain, chainEnd, chain != null, null);
+    }
+
+    private PlaylistEvent(Playlist playlist, Type type, int index, Track track, int count, int toIndex,
+                          TrackNode chain, TrackNode chainEnd, boolean restorable, Track replacedTrack) {
+        this.playlist = playlist;
+        this.type = type;
+        this.index = index;
+        this.track = track;
+        this.count = count;
+        this.toIndex = toIndex;
+        this.chain = chain;
+        this.chainEnd = chainEnd;
+        this.restorable = restorable;
+        this.replacedTrack = replacedTrack;
+    }
+
+    static PlaylistEvent inserted(Playlist playlist, int index, Track track) {
+        return new PlaylistEvent(playlist, Type.INSERTED, index, track, 1, index, null, null);
+    }
+
+    static PlaylistEvent removed(Playlist playlist, int index, Track track) {
+        return new PlaylistEvent(playlist, Type.REMOVED, index, track, 1, index, null, null);
+    }
+
+    static PlaylistEvent replaced(Playlist playlist, int index, Track old, Track track) {
+        return new PlaylistEvent(playlist, Type.REPLACED, index, track, 1, index, null, null, false, old);
+    }
+
+    static PlaylistEvent cleared(Playlist playlist, int count, TrackNode first, TrackNode last) {
+        return new PlaylistEvent(playlist, Type.CLEARED, 0, null, count, 0, first, last);
+    }
+
+    /**
+     * A {@link Type#CLEARED} event for a playlist whose chain was handed to another playlist:
+     * the chain can still be read while the event is delivered, but not restored.
+     */
+    static PlaylistEvent transferred(Playlist playlist, int count, TrackNode first, TrackNode last) {
+        return new PlaylistEvent(playlist, Type.CLEARED, 0, null, count, 0, first, last, false, null);
+    }
+
+    static PlaylistEvent reordered(Playlist playlist, int count) {
+        return new PlaylistEvent(playlist, Type.REORDERED, 0, null, count, 0, null, null);
+    }
+
+    static PlaylistEvent spliced(Playlist playlist, int index, int count, TrackNode first, TrackNode last) {
+        return new PlaylistEvent(playlist, Type.SPLICED, index, null, count, index, first, last);
+    }
+
+    static PlaylistEvent moved(Playlist playlist, int fromIndex, int count, int toIndex) {
+        return new PlaylistEvent(playlist, Type.MOVED, fromIndex, null, count, toIndex, null, null);
+    }
+
+    static PlaylistEvent swapped(Playlist playlist, int i, int j) {
+        return new PlaylistEvent(playlist, Type.SWAPPED, i, null, 2, j, null, null);
+    }
+
+    public Playlist getPlaylist() {
+        return playlist;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Returns the 0-based index the change applies to (always 0 for {@link Type#CLEARED}).
+     *
+     * @return the index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the 0-based index the tracks were moved to ({@link Type#MOVED}) or the index of
+     * the other swapped track ({@link Type#SWAPPED}); equal to {@link #getIndex()} otherwise.
+     *
+     * @return the target index
+     */
+    public int getToIndex() {
+        return toIndex;
+    }
+
+    /**
+     * Returns the inserted or removed track, the new track of a {@link Type#REPLACED} event, or
+     * null for bulk changes.
+     *
+     * @return the affected track, or null
+     */
+    public Track getTrack() {
+        return track;
+    }
+
+    /**
+     * Returns the track that was replaced by a {@link Type#REPLACED} event, or null for other
+     * events.
+     *
+     * @return the old track, or null
+     */
+    public Track getReplacedTrack() {
+        return replacedTrack;
+    }
+
+    /**
+     * Returns the number of tracks affected by the change.
+     *
+     * @return the number of affected tracks
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the first node of the detached ({@link Type#CLEARED}) or linked-in
+     * ({@link Type#SPLICED}) chain, or null if the chain is not available.
+     */
+    TrackNode getChain() {
+        return chain;
+    }
+
+    /**
+     * Returns the last node of the chain returned by {@link #getChain()}, or null.
+     */
+    TrackNode getChainEnd() {
+        return chainEnd;
+    }
+
+    /**
+     * Returns true if the chain of a {@link Type#CLEARED} event still belongs to nobody and can
+     * be linked back into the playlist, false if it was moved to another playlist.
+     */
+    boolean isRestorable() {
+        return restorable;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PlaylistEvent{type=%s, index=%d, toIndex=%d, count=%d, track=%s}",
+                type, index, toIndex, count, track);
+    }
+}
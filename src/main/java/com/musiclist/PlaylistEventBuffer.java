@@ -0,0 +1,128 @@
+package com.musiclist;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A bounded {@link PlaylistListener} that queues events so a consumer can pick them up in
+ * batches, possibly on another thread.
+ *
+ * <p>What happens when the consumer falls behind and the buffer is full depends on how the
+ * buffer was created. A blocking buffer applies back-pressure: the mutator that fires the event
+ * waits in {@link #playlistChanged(PlaylistEvent)} until the consumer drains some events, so no
+ * event is ever lost. The consumer must then run on another thread than the mutators. A
+ * non-blocking buffer never delays the mutators; instead it discards the queued events, drops
+ * all further ones and is marked as overflowed. A consumer that sees {@link #hasOverflowed()}
+ * must first call {@link #reset()} and then rescan the playlist, instead of replaying individual
+ * events. Events fired after the reset are queued again, so none can fall between the rescan
+ * and the reset; at worst the consumer later sees events that its rescan already covered.</p>
+ */
+public class PlaylistEventBuffer implements PlaylistListener {
+
+    private final int capacity;
+    private final boolean blockWhenFull;
+    private final ArrayDeque<PlaylistEvent> events;
+    private boolean overflowed;
+
+    /**
+     * Creates a non-blocking buffer that holds at most {@code capacity} undelivered events.
+     *
+     * @param capacity the maximum number of queued events (must be positive)
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public PlaylistEventBuffer(int capacity) {
+        this(capacity, false);
+    }
+
+    /**
+     * Creates a buffer that holds at most {@code capacity} undelivered events.
+     *
+     * @param capacity      the maximum number of queued events (must be positive)
+     * @param blockWhenFull whether a full buffer makes the mutator wait for the consumer
+     *                      instead of overflowing
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public PlaylistEventBuffer(int capacity, boolean blockWhenFull) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.blockWhenFull = blockWhenFull;
+        this.events = new ArrayDeque<>();
+    }
+
+    /**
+     * Queues an event. A blocking buffer waits while it is full; if the waiting thread is
+     * interrupted, the buffer overflows instead and the interrupt status is restored.
+     */
+    @Override
+    public synchronized void playlistChanged(PlaylistEvent event) {
+        while (blockWhenFull && !overflowed && events.size() == capacity) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (overflowed) {
+            return;
+        }
+        if (events.size() == capacity) {
+            events.clear();
+            overflowed = true;
+            return;
+        }
+        events.addLast(event);
+    }
+
+    /**
+     * Removes and returns up to {@code maxEvents} queued events, oldest first.
+     *
+     * @param maxEvents the maximum batch size (must be positive)
+     * @return the drained events, possibly empty
+     * @throws IllegalArgumentException if maxEvents is not positive
+     */
+    public synchronized List<PlaylistEvent> drain(int maxEvents) {
+        if (maxEvents <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        List<PlaylistEvent> batch = new ArrayList<>(Math.min(maxEvents, events.size()));
+        while (batch.size() < maxEvents && !events.isEmpty()) {
+            batch.add(events.removeFirst());
+        }
+        if (!batch.isEmpty()) {
+            notifyAll();
+        }
+        return batch;
+    }
+
+    /**
+     * Returns the number of queued events.
+     *
+     * @return the number of undelivered events
+     */
+    public synchronized int pending() {
+        return events.size();
+    }
+
+    /**
+     * Returns true if events have been dropped since the last {@link #reset()}.
+     *
+     * @return true if the consumer must rescan the playlist
+     */
+    public synchronized boolean hasOverflowed() {
+        return overflowed;
+    }
+
+    /**
+     * Discards all queued events and clears the overflow flag. After an overflow, call this
+     * before rescanning the playlist, so that changes made during the rescan are queued.
+     */
+    public synchronized void reset() {
+        events.clear();
+        overflowed = false;
+        notifyAll();
+    }
+}
@@ -0,0 +1,165 @@
+package com.musiclist;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Builds playlists that add up to a target duration, such as "60 minutes of workout music",
+ * from a pool of candidate tracks.
+ *
+ * <p>Selection is a bounded subset-sum over durations: candidates are grouped by their
+ * duration in seconds and a dynamic programme over all sums up to the target plus tolerance
+ * records, for every reachable sum, which duration group reached it first. The cost is
+ * O(distinct durations * target) plus one pass over the pool, independent of how many tracks
+ * share a duration, so pools of 100k tracks are handled in milliseconds. The tables take about
+ * nine bytes per second of target, which is why the target is limited to
+ * {@value #MAX_TARGET_SECONDS} seconds (about 12 days, or 9 MB of tables).</p>
+ *
+ * <p>The artist limit is a heuristic: it is applied before the search, by keeping only the first
+ * {@code maxTracksPerArtist} candidates of each artist in pool order (after shuffling, if a
+ * {@link Random} is given). The search then never exceeds the limit, but it can miss a
+ * selection that would fit with a different choice of tracks by the same artist and return
+ * null instead. With a {@code Random}, generating again may find such a selection.</p>
+ */
+public class PlaylistGenerator {
+
+    /** The largest supported target duration in seconds; totals above it are never produced. */
+    public static final int MAX_TARGET_SECONDS = 1 << 20;
+
+    private final int toleranceSeconds;
+    private final int maxTracksPerArtist;
+    private final Random random;
+
+    /**
+     * Creates a generator that hits the target exactly if possible, without an artist limit,
+     * taking candidates in pool order.
+     */
+    public PlaylistGenerator() {
+        this(0, 0, null);
+    }
+
+    /**
+     * Creates a generator.
+     *
+     * @param toleranceSeconds   how far the total may deviate from the target (must not be negative)
+     * @param maxTracksPerArtist the maximum tracks per artist, or 0 for no limit (must not be negative)
+     * @param random             shuffles the pool before selection, or null to keep pool order
+     * @throws IllegalArgumentException if a limit is negative
+     */
+    public PlaylistGenerator(int toleranceSeconds, int maxTracksPerArtist, Random random) {
+        if (toleranceSeconds < 0) {
+            throw new IllegalArgumentException("Tolerance must not be negative");
+        }
+        if (maxTracksPerArtist < 0) {
+            throw new IllegalArgumentException("Max tracks per artist must not be negative");
+        }
+        this.toleranceSeconds = toleranceSeconds;
+        this.maxTracksPerArtist = maxTracksPerArtist;
+        this.random = random;
+    }
+
+    /**
+     * Picks distinct tracks from the pool whose total duration is as close to the target as
+     * possible within the tolerance, preferring the exact target and then shorter totals.
+     *
+     * @param name          the name of the generated playlist
+     * @param pool          the candidate tracks (must not be null); duplicates are ignored
+     * @param targetSeconds the desired total duration (must be positive and at most
+     *                      {@link #MAX_TARGET_SECONDS})
+     * @return the generated playlist, or null if no selection fits within the tolerance
+     * @throws IllegalArgumentException if pool is null or targetSeconds is out of range
+     */
+    public Playlist generate(String name, Iterable<Track> pool, int targetSeconds) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+        if (targetSeconds <= 0) {
+            throw new IllegalArgumentException("Target duration must be positive");
+        }
+        if (targetSeconds > MAX_TARGET_SECONDS) {
+            throw new IllegalArgumentException("Target duration must be at most " + MAX_TARGET_SECONDS + " seconds");
+        }
+        int limit = (int) Math.min(MAX_TARGET_SECONDS, (long) targetSeconds + toleranceSeconds);
+        List<List<Track>> groups = groupByDuration(pool, limit);
+
+        int[] groupAt = new int[limit + 1];
+        int[] usedAt = new int[limit + 1];
+        boolean[] reached = new boolean[limit + 1];
+        reached[0] = true;
+        groupAt[0] = -1;
+        for (int g = 0; g < groups.size(); g++) {
+            List<Track> group = groups.get(g);
+            int duration = group.get(0).getDurationInSeconds();
+            int available = group.size();
+            for (int sum = duration; sum <= limit; sum++) {
+                if (reached[sum] || !reached[sum - duration]) {
+                    continue;
+                }
+                int used = (groupAt[sum - duration] == g ? usedAt[sum - duration] : 0) + 1;
+                if (used <= available) {
+                    reached[sum] = true;
+                    groupAt[sum] = g;
+                    usedAt[sum] = used;
+                }
+            }
+        }
+
+        int best = -1;
+        for (int delta = 0; delta <= toleranceSeconds && best < 0; delta++) {
+            if (targetSeconds - delta > 0 && reached[targetSeconds - delta]) {
+                best = targetSeconds - delta;
+            } else if ((long) targetSeconds + delta <= limit && reached[targetSeconds + delta]) {
+                best = targetSeconds + delta;
+            }
+        }
+        if (best < 0) {
+            return null;
+        }
+
+        Playlist playlist = new Playlist(name);
+        int[] taken = new int[groups.size()];
+        for (int sum = best; sum > 0; ) {
+            List<Track> group = groups.get(groupAt[sum]);
+            Track track = group.get(taken[groupAt[sum]]++);
+            playlist.addTrack(track);
+            sum -= track.getDurationInSeconds();
+        }
+        return playlist;
+    }
+
+    /**
+     * Applies shuffling, de-duplication and the artist limit, then buckets tracks by duration.
+     * The artist limit keeps the first candidates of each artist; see the class comment.
+     */
+    private List<List<Track>> groupByDuration(Iterable<Track> pool, int limit) {
+        List<Track> candidates = new ArrayList<>();
+        for (Track track : pool) {
+            if (track != null && track.getDurationInSeconds() <= limit) {
+                candidates.add(track);
+            }
+        }
+        if (random != null) {
+            Collections.shuffle(candidates, random);
+        }
+        Set<Track> seen = new HashSet<>();
+        Map<String, Integer> perArtist = new HashMap<>();
+        Map<Integer, List<Track>> byDuration = new HashMap<>();
+        for (Track track : candidates) {
+            if (!seen.add(track)) {
+                continue;
+            }
+            if (maxTracksPerArtist > 0
+                    && perArtist.merge(track.getArtist(), 1, Integer::sum) > maxTracksPerArtist) {
+                continue;
+            }
+            byDuration.computeIfAbsent(track.getDurationInSeconds(), d -> new ArrayList<>()).add(track);
+        }
+        return new ArrayList<>(byDuration.values());
+    }
+}
@@ -0,0 +1,334 @@
+package com.musiclist;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Undo/redo history for a {@link Playlist}, recorded from its change events.
+ *
+ * <p>Each entry stores the events of one edit (or one burst of coalesced edits), which are
+ * enough to invert or replay it: an insertion is undone by removing at the same index, a
+ * removal by re-inserting the recorded track, a replacement by putting the old track back, a
+ * move by moving the tracks back. A {@link Playlist#clear()} keeps the detached node chain, so
+ * undoing and redoing it is O(1) regardless of the playlist size.</p>
+ *
+ * <p>At most {@code maxEntries} entries are kept, and together they hold at most
+ * {@code maxTracks} tracks: every recorded event counts as one track, except a clear, which
+ * counts as the number of tracks it detached. When either limit is exceeded, the oldest entries
+ * are dropped first; an entry that alone exceeds {@code maxTracks} is not kept at all.</p>
+ *
+ * <p>Instances are created with {@link #attach}, which registers them as a listener.</p>
+ */
+public final class PlaylistHistory implements PlaylistListener {
+
+    /** The track budget used when none is given. */
+    public static final int DEFAULT_MAX_TRACKS = 1_000_000;
+
+    private static final class Entry {
+        private final List<PlaylistEvent> events = new ArrayList<>(1);
+        private long tracks;
+        private long lastEditNanos;
+    }
+
+    private final Playlist playlist;
+    private final int maxEntries;
+    private final int maxTracks;
+    private final long coalesceWindowNanos;
+    private final ArrayDeque<Entry> undoStack = new ArrayDeque<>();
+    private final ArrayDeque<Entry> redoStack = new ArrayDeque<>();
+    /** The tracks held by the entries of both stacks. */
+    private long retainedTracks;
+    private boolean applying;
+    /** The last event fired by an undo or redo, used to pick up the chain a redone clear detached. */
+    private PlaylistEvent applied;
+
+    private PlaylistHistory(Playlist playlist, int maxEntries, int maxTracks, long coalesceWindowMillis) {
+        this.playlist = playlist;
+        this.maxEntries = maxEntries;
+        this.maxTracks = maxTracks;
+        this.coalesceWindowNanos = coalesceWindowMillis * 1_000_000L;
+    }
+
+    /**
+     * Starts recording every edit of a playlist as its own entry, within
+     * {@value #DEFAULT_MAX_TRACKS} tracks.
+     *
+     * @param playlist   the playlist to track (must not be null)
+     * @param maxEntries the maximum number of undoable entries (must be positive)
+     * @return the history
+     * @throws IllegalArgumentException if any argument is invalid
+     */
+    public static PlaylistHistory attach(Playlist playlist, int maxEntries) {
+        return attach(playlist, maxEntries, DEFAULT_MAX_TRACKS, 0);
+    }
+
+    /**
+     * Starts recording the edits of a playlist, coalescing bursts of adjacent single-track
+     * edits, within {@value #DEFAULT_MAX_TRACKS} tracks.
+     *
+     * @param playlist             the playlist to track (must not be null)
+     * @param maxEntries           the maximum number of undoable entries (must be positive)
+     * @param coalesceWindowMillis the maximum pause between coalesced edits, 0 to disable
+     * @return the history
+     * @throws IllegalArgumentException if any argument is invalid
+     * @see #attach(Playlist, int, int, long)
+     */
+    public static PlaylistHistory attach(Playlist playlist, int maxEntries, long coalesceWindowMillis) {
+        return attach(playlist, maxEntries, DEFAULT_MAX_TRACKS, coalesceWindowMillis);
+    }
+
+    /**
+     * Starts recording the edits of a playlist, coalescing bursts of adjacent single-track edits.
+     * Consecutive insertions at increasing indices, or removals at the same or decreasing
+     * indices, are merged into one entry if they follow each other within the window.
+     *
+     * @param playlist             the playlist to track (must not be null)
+     * @param maxEntries           the maximum number of undoable entries (must be positive)
+     * @param maxTracks            the maximum number of tracks held by all entries (must be positive)
+     * @param coalesceWindowMillis the maximum pause between coalesced edits, 0 to disable
+     * @return the history
+     * @throws IllegalArgumentException if any argument is invalid
+     */
+    public static PlaylistHistory attach(Playlist playlist, int maxEntries, int maxTracks,
+                                         long coalesceWindowMillis) {
+        if (playlist == null) {
+            throw new IllegalArgumentException("Playlist must not be null");
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("Max entries must be positive");
+        }
+        if (maxTracks <= 0) {
+            throw new IllegalArgumentException("Max tracks must be positive");
+        }
+        if (coalesceWindowMillis < 0) {
+            throw new IllegalArgumentException("Coalesce window must not be negative");
+        }
+        PlaylistHistory history = new PlaylistHistory(playlist, maxEntries, maxTracks, coalesceWindowMillis);
+        playlist.addListener(history);
+        return history;
+    }
+
+    @Override
+    public void playlistChanged(PlaylistEvent event) {
+        if (event.getPlaylist() != playlist) {
+            return;
+        }
+        if (applying) {
+            applied = event;
+            return;
+        }
+        clearRedo();
+        if (!isUndoable(event)) {
+            clearHistory();
+            return;
+        }
+        long now = coalesceWindowNanos > 0 ? System.nanoTime() : 0;
+        Entry last = undoStack.peekLast();
+        if (last == null || !canCoalesce(last, event, now)) {
+            last = new Entry();
+            undoStack.addLast(last);
+        }
+        long tracks = tracksOf(event);
+        last.events.add(event);
+        last.tracks += tracks;
+        last.lastEditNanos = now;
+        retainedTracks += tracks;
+        while (!undoStack.isEmpty() && (undoStack.size() > maxEntries || retainedTracks > maxTracks)) {
+            retainedTracks -= undoStack.removeFirst().tracks;
+        }
+    }
+
+    /**
+     * Reverts the most recent entry.
+     *
+     * @return true if an entry was undone, false if there was nothing to undo
+     */
+    public boolean undo() {
+        Entry entry = undoStack.pollLast();
+        if (entry == null) {
+            return false;
+        }
+        applying = true;
+        try {
+            for (int i = entry.events.size() - 1; i >= 0; i--) {
+                invert(entry.events.get(i));
+            }
+        } finally {
+            applying = false;
+        }
+        redoStack.addLast(entry);
+        return true;
+    }
+
+    /**
+     * Re-applies the most recently undone entry.
+     *
+     * @return true if an entry was redone, false if there was nothing to redo
+     */
+    public boolean redo() {
+        Entry entry = redoStack.pollLast();
+        if (entry == null) {
+            return false;
+        }
+        applying = true;
+        try {
+            for (int i = 0; i < entry.events.size(); i++) {
+                PlaylistEvent event = entry.events.get(i);
+                applied = null;
+                replay(event);
+                if (event.getType() == PlaylistEvent.Type.CLEARED && applied != null
+                        && applied.getType() == PlaylistEvent.Type.CLEARED) {
+                    // The original chain may have been edited since it was restored, so a later
+                    // undo must restore the nodes this clear has just detached instead.
+                    entry.events.set(i, applied);
+                    long delta = tracksOf(applied) - tracksOf(event);
+                    entry.tracks += delta;
+                    retainedTracks += delta;
+                }
+            }
+        } finally {
+            applying = false;
+            applied = null;
+        }
+        undoStack.addLast(entry);
+        return true;
+    }
+
+    public boolean canUndo() {
+        return !undoStack.isEmpty();
+    }
+
+    public boolean canRedo() {
+        return !redoStack.isEmpty();
+    }
+
+    /**
+     * Returns the number of entries that can currently be undone.
+     *
+     * @return the undo depth
+     */
+    public int undoDepth() {
+        return undoStack.size();
+    }
+
+    /**
+     * Returns the number of tracks held by all recorded entries, as counted against the
+     * {@code maxTracks} budget.
+     *
+     * @return the retained track count
+     */
+    public long retainedTracks() {
+        return retainedTracks;
+    }
+
+    /**
+     * Forgets all recorded entries.
+     */
+    public void clearHistory() {
+        undoStack.clear();
+        redoStack.clear();
+        retainedTracks = 0;
+    }
+
+    /**
+     * Stops recording edits and forgets all recorded entries.
+     */
+    public void detach() {
+        playlist.removeListener(this);
+        clearHistory();
+    }
+
+    private void clearRedo() {
+        for (Entry entry : redoStack) {
+            retainedTracks -= entry.tracks;
+        }
+        redoStack.clear();
+    }
+
+    private static long tracksOf(PlaylistEvent event) {
+        return event.getType() == PlaylistEvent.Type.CLEARED ? Math.max(1, event.getCount()) : 1;
+    }
+
+    private static boolean isUndoable(PlaylistEvent event) {
+        switch (event.getType()) {
+            case INSERTED:
+            case REMOVED:
+            case REPLACED:
+            case MOVED:
+            case SWAPPED:
+                return true;
+            case CLEARED:
+                return event.isRestorable();
+            default:
+                return false;
+        }
+    }
+
+    private boolean canCoalesce(Entry entry, PlaylistEvent event, long now) {
+        if (coalesceWindowNanos == 0 || now - entry.lastEditNanos > coalesceWindowNanos) {
+            return false;
+        }
+        PlaylistEvent previous = entry.events.get(entry.events.size() - 1);
+        if (previous.getType() != event.getType()) {
+            return false;
+        }
+        if (event.getType() == PlaylistEvent.Type.INSERTED) {
+            return event.getIndex() == previous.getIndex() + 1;
+        }
+        if (event.getType() == PlaylistEvent.Type.REMOVED) {
+            return event.getIndex() == previous.getIndex() || event.getIndex() == previous.getIndex() - 1;
+        }
+        return false;
+    }
+
+    private void invert(PlaylistEvent event) {
+        switch (event.getType()) {
+            case INSERTED:
+                playlist.removeTrackAtIndex(event.getIndex());
+                break;
+            case REMOVED:
+                playlist.addTrackAtIndex(event.getIndex(), event.getTrack());
+                break;
+            case REPLACED:
+                playlist.replaceAt(event.getIndex(), event.getReplacedTrack());
+                break;
+            case CLEARED:
+                playlist.restoreChain(event.getChain(), event.getChainEnd(), event.getCount());
+                break;
+            case MOVED:
+                playlist.moveRange(event.getToIndex(), event.getCount(), event.getIndex());
+                break;
+            case SWAPPED:
+                playlist.swap(event.getIndex(), event.getToIndex());
+                break;
+            default:
+                throw new IllegalStateException("Cannot undo " + event);
+        }
+    }
+
+    private void replay(PlaylistEvent event) {
+        switch (event.getType()) {
+            case INSERTED:
+                playlist.addTrackAtIndex(event.getIndex(), event.getTrack());
+                break;
+            case REMOVED:
+                playlist.removeTrackAtIndex(event.getIndex());
+                break;
+            case REPLACED:
+                playlist.replaceAt(event.getIndex(), event.getTrack());
+                break;
+            case CLEARED:
+                playlist.clear();
+                break;
+            case MOVED:
+                playlist.moveRange(event.getIndex(), event.getCount(), event.getToIndex());
+                break;
+            case SWAPPED:
+                playlist.swap(event.getIndex(), event.getToIndex());
+                break;
+            default:
+                throw new IllegalStateException("Cannot redo " + event);
+        }
+    }
+}
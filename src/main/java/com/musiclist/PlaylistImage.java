@@ -0,0 +1,282 @@
+package com.musiclist;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * A compact binary image of a set of playlists, meant to be produced at build time and loaded
+ * at startup instead of rebuilding the playlists track by track.
+ *
+ * <p>The image starts with a magic number and a format version, followed by a table of all
+ * distinct strings (their lengths, then their UTF-8 bytes as one block), a table of all
+ * distinct tracks referring to that string table, and the playlists as lists of track indices.
+ * A CRC32 of everything before it closes the image. The tracks are validated when the image is
+ * written; {@link #read(InputStream)} only checks the checksum and then builds every
+ * {@link Track} and {@link TrackNode} in one pass without re-validating them. Equal strings and
+ * equal tracks are shared between all loaded playlists.</p>
+ *
+ * <p>{@link #main(String[])} converts a tab-separated file with the columns
+ * {@code playlist, title, artist, durationInSeconds} into an image; see
+ * {@code scripts/build-image.sh}.</p>
+ */
+public final class PlaylistImage {
+
+    static final int MAGIC = 0x4D4C5049;
+    static final int VERSION = 1;
+    private static final int NO_STRING = -1;
+
+    private PlaylistImage() {
+    }
+
+    /**
+     * Writes the playlists as an image.
+     *
+     * @param playlists the playlists to write (must not be null or contain null)
+     * @param out       the stream to write to; it is not closed
+     * @throws IllegalArgumentException if playlists is null or contains null
+     * @throws IOException              if writing fails
+     */
+    public static void write(List<Playlist> playlists, OutputStream out) throws IOException {
+        if (playlists == null) {
+            throw new IllegalArgumentException("Playlists must not be null");
+        }
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        Map<TrackKey, Integer> tracks = new LinkedHashMap<>();
+        List<int[]> contents = new ArrayList<>(playlists.size());
+        for (Playlist playlist : playlists) {
+            if (playlist == null) {
+                throw new IllegalArgumentException("Playlists must not be null");
+            }
+            if (playlist.getName() != null) {
+                strings.putIfAbsent(playlist.getName(), strings.size());
+            }
+            int[] indices = new int[playlist.size()];
+            int i = 0;
+            for (Track track : playlist) {
+                strings.putIfAbsent(track.getTitle(), strings.size());
+                strings.putIfAbsent(track.getArtist(), strings.size());
+                Integer index = tracks.putIfAbsent(new TrackKey(track), tracks.size());
+                indices[i++] = index != null ? index : tracks.size() - 1;
+            }
+            contents.add(indices);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(bytes);
+        data.writeInt(MAGIC);
+        data.writeInt(VERSION);
+        data.writeInt(strings.size());
+        StringBuilder joined = new StringBuilder();
+        for (String string : strings.keySet()) {
+            data.writeInt(string.length());
+            joined.append(string);
+        }
+        byte[] utf8 = joined.toString().getBytes(StandardCharsets.UTF_8);
+        data.writeInt(utf8.length);
+        data.write(utf8);
+        data.writeInt(tracks.size());
+        for (TrackKey key : tracks.keySet()) {
+            data.writeInt(strings.get(key.track.getTitle()));
+            data.writeInt(strings.get(key.track.getArtist()));
+            data.writeInt(key.track.getDurationInSeconds());
+        }
+        data.writeInt(playlists.size());
+        for (int p = 0; p < playlists.size(); p++) {
+            String name = playlists.get(p).getName();
+            data.writeInt(name == null ? NO_STRING : strings.get(name));
+            int[] indices = contents.get(p);
+            data.writeInt(indices.length);
+            for (int index : indices) {
+                data.writeInt(index);
+            }
+        }
+        data.flush();
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        data.writeInt((int) crc.getValue());
+        bytes.writeTo(out);
+    }
+
+    /**
+     * Reads the playlists from an image.
+     *
+     * @param in the stream to read the whole image from; it is not closed
+     * @return the playlists, in the order they were written
+     * @throws IllegalArgumentException if in is null
+     * @throws IOException              if reading fails or the image is corrupt or of another version
+     */
+    public static List<Playlist> read(InputStream in) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("Input stream must not be null");
+        }
+        byte[] image = in.readAllBytes();
+        if (image.length < 12) {
+            throw new IOException("Playlist image is truncated");
+        }
+        if (intAt(image, 0) != MAGIC) {
+            throw new IOException("Not a playlist image");
+        }
+        int version = intAt(image, 4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported playlist image version " + version);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(image, 0, image.length - 4);
+        if ((int) crc.getValue() != intAt(image, image.length - 4)) {
+            throw new IOException("Playlist image checksum mismatch");
+        }
+        try {
+            return decode(image);
+        } catch (IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException e) {
+            throw new IOException("Corrupt playlist image", e);
+        }
+    }
+
+    /**
+     * Decodes a checksummed image. Reads go straight to the byte array rather than through a
+     * ByteBuffer, which keeps the one-off startup pass cheap while it still runs interpreted.
+     */
+    private static List<Playlist> decode(byte[] image) {
+        int position = 8;
+        String[] strings = new String[intAt(image, position)];
+        int lengths = position + 4;
+        position = lengths + strings.length * 4;
+        int blobLength = intAt(image, position);
+        // Decoding all strings in one call is much cheaper than one call per string.
+        String joined = new String(image, position + 4, blobLength, StandardCharsets.UTF_8);
+        position += 4 + blobLength;
+        for (int i = 0, begin = 0; i < strings.length; i++) {
+            int end = begin + intAt(image, lengths + i * 4);
+            strings[i] = joined.substring(begin, end);
+            begin = end;
+        }
+        Track[] tracks = new Track[intAt(image, position)];
+        position += 4;
+        for (int i = 0; i < tracks.length; i++) {
+            tracks[i] = Track.trusted(strings[intAt(image, position)], strings[intAt(image, position + 4)],
+                    intAt(image, position + 8));
+            position += 12;
+        }
+        int count = intAt(image, position);
+        position += 4;
+        List<Playlist> playlists = new ArrayList<>(Math.min(count, (image.length - position) / 8));
+        for (int p = 0; p < count; p++) {
+            int name = intAt(image, position);
+            Playlist playlist = new Playlist(name == NO_STRING ? null : strings[name]);
+            int size = intAt(image, position + 4);
+            int start = position + 8;
+            position = start + size * 4;
+            // Link back to front so that each node is created with its successor.
+            TrackNode first = null;
+            TrackNode last = null;
+            for (int i = position - 4; i >= start; i -= 4) {
+                first = new TrackNode(tracks[intAt(image, i)], first);
+                if (last == null) {
+                    last = first;
+                }
+            }
+            playlist.restoreChain(first, last, size);
+            playlists.add(playlist);
+        }
+        return playlists;
+    }
+
+    private static int intAt(byte[] bytes, int offset) {
+        return (bytes[offset] & 0xFF) << 24 | (bytes[offset + 1] & 0xFF) << 16
+                | (bytes[offset + 2] & 0xFF) << 8 | (bytes[offset + 3] & 0xFF);
+    }
+
+    /**
+     * Parses playlists from tab-separated lines {@code playlist, title, artist, durationInSeconds}.
+     * Blank lines and lines starting with {@code #} are skipped; lines naming the same playlist
+     * are collected into one playlist in input order.
+     *
+     * @param reader the input
+     * @return the playlists in order of first appearance
+     * @throws IllegalArgumentException if a line is malformed or describes an invalid track
+     * @throws IOException              if reading fails
+     */
+    static List<Playlist> parseTsv(BufferedReader reader) throws IOException {
+        Map<String, Playlist> playlists = new LinkedHashMap<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) {
+                continue;
+            }
+            String[] columns = line.split("\t", -1);
+            if (columns.length != 4) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected 4 columns");
+            }
+            try {
+                Track track = new Track(columns[1], columns[2], Integer.parseInt(columns[3].trim()));
+                playlists.computeIfAbsent(columns[0], Playlist::new).addTrack(track);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": " + e.getMessage(), e);
+            }
+        }
+        return new ArrayList<>(playlists.values());
+    }
+
+    /**
+     * Converts a tab-separated playlist file into an image.
+     * Usage: {@code PlaylistImage <input.tsv> <output.img>}.
+     *
+     * @param args the input and output paths
+     * @throws IOException if reading or writing fails
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: PlaylistImage <input.tsv> <output.img>");
+            System.exit(2);
+        }
+        List<Playlist> playlists;
+        try (BufferedReader reader = Files.newBufferedReader(Path.of(args[0]), StandardCharsets.UTF_8)) {
+            playlists = parseTsv(reader);
+        }
+        try (OutputStream out = Files.newOutputStream(Path.of(args[1]))) {
+            write(playlists, out);
+        }
+        int tracks = 0;
+        for (Playlist playlist : playlists) {
+            tracks += playlist.size();
+        }
+        System.out.printf("Wrote %d playlists with %d tracks to %s (%d bytes)%n",
+                playlists.size(), tracks, args[1], Files.size(Path.of(args[1])));
+    }
+
+    /** Identifies a track by all of its fields, unlike {@link Track#equals}, which ignores the duration. */
+    private static final class TrackKey {
+        private final Track track;
+
+        TrackKey(Track track) {
+            this.track = track;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TrackKey)) return false;
+            Track other = ((TrackKey) obj).track;
+            return track.equals(other) && track.getDurationInSeconds() == other.getDurationInSeconds();
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(track.getTitle(), track.getArtist(), track.getDurationInSeconds());
+        }
+    }
+}
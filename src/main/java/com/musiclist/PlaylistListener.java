@@ -0,0 +1,18 @@
+package com.musiclist;
+
+/**
+ * Receives notifications about structural changes made to a {@link Playlist}.
+ *
+ * <p>Listeners are called synchronously on the mutating thread, after the change has been
+ * applied and in the order the changes were made.</p>
+ */
+@FunctionalInterface
+public interface PlaylistListener {
+
+    /**
+     * Called after the playlist has been changed.
+     *
+     * @param event the change that was made
+     */
+    void playlistChanged(PlaylistEvent event);
+}
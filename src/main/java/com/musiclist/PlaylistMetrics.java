@@ -0,0 +1,260 @@
+package com.musiclist;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Call counts, node hops and latency histograms for the hot {@link Playlist} operations, and
+ * hit counts of the playlist render cache.
+ *
+ * <p>Attach an instance with {@link Playlist#setMetrics(PlaylistMetrics)}; a playlist without
+ * metrics only pays a null check per call. One instance may be shared by several playlists and
+ * updated from several threads, since all counters are striped {@link LongAdder}s.</p>
+ */
+public class PlaylistMetrics implements PlaylistMetricsMXBean {
+
+    /**
+     * The instrumented operations.
+     */
+    public enum Operation {
+        ADD_TRACK,
+        GET_TRACK,
+        INDEX_OF,
+        REMOVE_TRACK,
+        TOTAL_DURATION
+    }
+
+    private final LongAdder[] calls = new LongAdder[Operation.values().length];
+    private final LongAdder[] nodes = new LongAdder[Operation.values().length];
+    private final LatencyHistogram[] latencies = new LatencyHistogram[Operation.values().length];
+    private final LongAdder renderHits = new LongAdder();
+    private final LongAdder renderMisses = new LongAdder();
+
+    /**
+     * Creates metrics with all counters at zero.
+     */
+    public PlaylistMetrics() {
+        for (int i = 0; i < calls.length; i++) {
+            calls[i] = new LongAdder();
+            nodes[i] = new LongAdder();
+            latencies[i] = new LatencyHistogram();
+        }
+    }
+
+    /**
+     * Records one call of an operation.
+     *
+     * @param operation      the operation that ran
+     * @param nodesTraversed the number of nodes the call visited
+     * @param startNanos     the {@link System#nanoTime()} value taken when the call started
+     */
+    void record(Operation operation, long nodesTraversed, long startNanos) {
+        int i = operation.ordinal();
+        calls[i].increment();
+        nodes[i].add(nodesTraversed);
+        latencies[i].record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records one {@link Playlist#toString()} call that was served from the render cache
+     * ({@code hit}) or had to format the playlist.
+     *
+     * @param hit whether the cached string was reused
+     */
+    void recordRender(boolean hit) {
+        (hit ? renderHits : renderMisses).increment();
+    }
+
+    /**
+     * Returns how often the operation was called.
+     *
+     * @param operation the operation
+     * @return the call count
+     */
+    public long getCalls(Operation operation) {
+        return calls[operation.ordinal()].sum();
+    }
+
+    /**
+     * Returns the total number of nodes visited by all calls of the operation.
+     *
+     * @param operation the operation
+     * @return the number of nodes traversed
+     */
+    public long getNodesTraversed(Operation operation) {
+        return nodes[operation.ordinal()].sum();
+    }
+
+    /**
+     * Returns the average number of nodes visited per call, or 0 if there were no calls.
+     *
+     * @param operation the operation
+     * @return the mean nodes per call
+     */
+    public double getMeanNodesPerCall(Operation operation) {
+        long count = getCalls(operation);
+        return count == 0 ? 0.0 : (double) getNodesTraversed(operation) / count;
+    }
+
+    /**
+     * Returns an upper bound for the given latency percentile, accurate to within 12.5%.
+     *
+     * @param operation  the operation
+     * @param percentile the percentile, between 0 and 100
+     * @return the latency in nanoseconds, or 0 if there were no calls
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public long getLatencyPercentileNanos(Operation operation, double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        return latencies[operation.ordinal()].percentile(percentile);
+    }
+
+    @Override
+    public long getRenderCacheHits() {
+        return renderHits.sum();
+    }
+
+    @Override
+    public long getRenderCacheMisses() {
+        return renderMisses.sum();
+    }
+
+    /**
+     * Returns the fraction of {@link Playlist#toString()} calls served from the render cache.
+     *
+     * @return the hit rate between 0 and 1, or 0 if nothing was rendered
+     */
+    public double getRenderCacheHitRate() {
+        long hits = getRenderCacheHits();
+        long total = hits + getRenderCacheMisses();
+        return total == 0 ? 0.0 : (double) hits / total;
+    }
+
+    @Override
+    public Map<String, Long> getCallCounts() {
+        return perOperation(this::getCalls);
+    }
+
+    @Override
+    public Map<String, Long> getNodesTraversed() {
+        return perOperation(this::getNodesTraversed);
+    }
+
+    @Override
+    public Map<String, Long> getMedianLatencyNanos() {
+        return perOperation(operation -> getLatencyPercentileNanos(operation, 50.0));
+    }
+
+    @Override
+    public Map<String, Long> getP99LatencyNanos() {
+        return perOperation(operation -> getLatencyPercentileNanos(operation, 99.0));
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < calls.length; i++) {
+            calls[i].reset();
+            nodes[i].reset();
+            latencies[i].reset();
+        }
+        renderHits.reset();
+        renderMisses.reset();
+    }
+
+    /**
+     * Registers these metrics with the platform MBean server under
+     * {@code com.musiclist:type=PlaylistMetrics,name=<name>}.
+     *
+     * @param name the value of the {@code name} key
+     * @return the name the MBean was registered under
+     * @throws IllegalStateException if registration fails
+     */
+    public ObjectName registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName("com.musiclist:type=PlaylistMetrics,name="
+                    + ObjectName.quote(name));
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            server.registerMBean(this, objectName);
+            return objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Could not register playlist metrics " + name, e);
+        }
+    }
+
+    private static Map<String, Long> perOperation(ToLongFunction<Operation> value) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (Operation operation : Operation.values()) {
+            result.put(operation.name(), value.applyAsLong(operation));
+        }
+        return result;
+    }
+
+    /**
+     * A log-linear histogram: every power of two is split into 8 linear sub-buckets, so each
+     * bucket spans at most 12.5% of its lower bound.
+     */
+    static final class LatencyHistogram {
+
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+        private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS);
+
+        void record(long value) {
+            counts.incrementAndGet(bucketOf(Math.max(0, value)));
+        }
+
+        long percentile(double percentile) {
+            long total = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                total += counts.get(i);
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+            long seen = 0;
+            for (int i = 0; i < counts.length(); i++) {
+                seen += counts.get(i);
+                if (seen >= rank) {
+                    return upperBoundOf(i);
+                }
+            }
+            return upperBoundOf(counts.length() - 1);
+        }
+
+        void reset() {
+            for (int i = 0; i < counts.length(); i++) {
+                counts.set(i, 0);
+            }
+        }
+
+        static int bucketOf(long value) {
+            if (value < SUB_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+            return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+        }
+
+        static long upperBoundOf(int bucket) {
+            if (bucket < SUB_BUCKETS) {
+                return bucket;
+            }
+            int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+            long sub = bucket % SUB_BUCKETS;
+            long lower = (1L << exponent) + (sub << (exponent - SUB_BUCKET_BITS));
+            return lower + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+        }
+    }
+}
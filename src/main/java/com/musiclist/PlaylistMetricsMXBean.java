@@ -0,0 +1,23 @@
+package com.musiclist;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link PlaylistMetrics}. All maps are keyed by {@link PlaylistMetrics.Operation} name.
+ */
+public interface PlaylistMetricsMXBean {
+
+    Map<String, Long> getCallCounts();
+
+    Map<String, Long> getNodesTraversed();
+
+    Map<String, Long> getMedianLatencyNanos();
+
+    Map<String, Long> getP99LatencyNanos();
+
+    long getRenderCacheHits();
+
+    long getRenderCacheMisses();
+
+    void reset();
+}
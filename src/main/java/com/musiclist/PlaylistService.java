@@ -0,0 +1,252 @@
+package com.musiclist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * An in-process facade that lets many concurrent callers work on named playlists without
+ * locking.
+ *
+ * <p>Every playlist has a mailbox drained by at most one virtual thread at a time, so writes to
+ * one playlist are applied in submission order by a single writer, while different playlists
+ * are updated in parallel. After each drained batch that changed the playlist, the writer
+ * publishes an immutable snapshot, which {@link #snapshot(String)} returns without waiting for
+ * pending writes. Batches that only read reuse the previous snapshot, so reads cost no copy;
+ * a batch of writes costs one O(n) copy, however many writes it contains.</p>
+ *
+ * <p>An operation that throws, including an {@link Error}, completes its own future
+ * exceptionally and does not affect other operations or later drains.</p>
+ */
+public class PlaylistService implements AutoCloseable {
+
+    /** The maximum number of queued operations applied before a snapshot is published. */
+    private static final int MAX_DRAIN = 256;
+
+    private final ExecutorService executor;
+    private final ConcurrentHashMap<String, Mailbox> mailboxes = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a service that runs each mailbox drain on a new virtual thread.
+     */
+    public PlaylistService() {
+        this(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Creates a service that drains mailboxes on the given executor.
+     *
+     * @param executor the executor to run drains on (must not be null)
+     * @throws IllegalArgumentException if executor is null
+     */
+    public PlaylistService(ExecutorService executor) {
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor must not be null");
+        }
+        this.executor = executor;
+    }
+
+    /**
+     * Creates a new empty playlist.
+     *
+     * @param name the playlist name (must not be null)
+     * @throws IllegalArgumentException if name is null or a playlist with that name exists
+     */
+    public void createPlaylist(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Name must not be null");
+        }
+        if (mailboxes.putIfAbsent(name, new Mailbox(new Playlist(name))) != null) {
+            throw new IllegalArgumentException("Playlist already exists: " + name);
+        }
+    }
+
+    /**
+     * Returns true if a playlist with the given name exists.
+     *
+     * @param name the playlist name
+     * @return true if the playlist exists
+     */
+    public boolean hasPlaylist(String name) {
+        return name != null && mailboxes.containsKey(name);
+    }
+
+    /**
+     * Queues an operation on the named playlist. The operation runs on the playlist's single
+     * writer and must not keep a reference to the playlist.
+     *
+     * @param name      the playlist name
+     * @param operation the operation to apply (must not be null)
+     * @param <T>       the result type
+     * @return a future completed with the operation's result once the snapshot containing its
+     *         effect has been published
+     * @throws IllegalArgumentException if the operation is null or the playlist does not exist
+     */
+    public <T> CompletableFuture<T> submit(String name, Function<Playlist, T> operation) {
+        if (operation == null) {
+            throw new IllegalArgumentException("Operation must not be null");
+        }
+        Mailbox mailbox = mailbox(name);
+        CompletableFuture<T> future = new CompletableFuture<>();
+        mailbox.enqueue(new Task(future, playlist -> operation.apply(playlist)));
+        return future;
+    }
+
+    /**
+     * Queues several operations that are applied back to back, without writes from other
+     * callers in between. Application stops at the first operation that throws; operations
+     * applied before it are kept.
+     *
+     * @param name       the playlist name
+     * @param operations the operations to apply in order (must not be null)
+     * @return a future completed with the results in order
+     * @throws IllegalArgumentException if operations is null or the playlist does not exist
+     */
+    public CompletableFuture<List<Object>> submitBatch(String name,
+                                                       List<? extends Function<Playlist, ?>> operations) {
+        if (operations == null) {
+            throw new IllegalArgumentException("Operations must not be null");
+        }
+        List<Function<Playlist, ?>> copy = List.copyOf(operations);
+        return submit(name, playlist -> {
+            List<Object> results = new ArrayList<>(copy.size());
+            for (Function<Playlist, ?> operation : copy) {
+                results.add(operation.apply(playlist));
+            }
+            return results;
+        });
+    }
+
+    /**
+     * Returns the most recently published contents of the named playlist.
+     *
+     * @param name the playlist name
+     * @return an immutable list of tracks
+     * @throws IllegalArgumentException if the playlist does not exist
+     */
+    public List<Track> snapshot(String name) {
+        return mailbox(name).snapshot;
+    }
+
+    /**
+     * Stops accepting work and waits for queued operations to finish.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    private Mailbox mailbox(String name) {
+        Mailbox mailbox = name == null ? null : mailboxes.get(name);
+        if (mailbox == null) {
+            throw new IllegalArgumentException("No such playlist: " + name);
+        }
+        return mailbox;
+    }
+
+    private static final class Task {
+        private final CompletableFuture<Object> future;
+        private final Function<Playlist, Object> operation;
+        private Object result;
+        private Throwable failure;
+
+        @SuppressWarnings("unchecked")
+        Task(CompletableFuture<?> future, Function<Playlist, Object> operation) {
+            this.future = (CompletableFuture<Object>) future;
+            this.operation = operation;
+        }
+    }
+
+    private final class Mailbox implements PlaylistListener {
+        private final Playlist playlist;
+        private final ConcurrentLinkedQueue<Task> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile List<Track> snapshot = List.of();
+        /** Whether the playlist changed since the last published snapshot; writer only. */
+        private boolean changed;
+
+        Mailbox(Playlist playlist) {
+            this.playlist = playlist;
+            playlist.addListener(this);
+        }
+
+        @Override
+        public void playlistChanged(PlaylistEvent event) {
+            changed = true;
+        }
+
+        void enqueue(Task task) {
+            queue.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    Task task;
+                    while ((task = queue.poll()) != null) {
+                        task.future.completeExceptionally(e);
+                    }
+                }
+            }
+        }
+
+        private void drain() {
+            List<Task> done = new ArrayList<>();
+            try {
+                Task task;
+                while (done.size() < MAX_DRAIN && (task = queue.poll()) != null) {
+                    done.add(task);
+                    try {
+                        task.result = task.operation.apply(playlist);
+                    } catch (Throwable t) {
+                        task.failure = t;
+                    }
+                }
+                if (changed) {
+                    publish();
+                }
+            } catch (Throwable t) {
+                for (Task failed : done) {
+                    if (failed.failure == null) {
+                        failed.failure = t;
+                    }
+                }
+            } finally {
+                for (Task finished : done) {
+                    if (finished.failure != null) {
+                        finished.future.completeExceptionally(finished.failure);
+                    } else {
+                        finished.future.complete(finished.result);
+                    }
+                }
+                scheduled.set(false);
+                if (!queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+
+        private void publish() {
+            Track[] tracks = new Track[playlist.size()];
+            int i = 0;
+            for (Track track : playlist) {
+                tracks[i++] = track;
+            }
+            snapshot = Collections.unmodifiableList(Arrays.asList(tracks));
+            changed = false;
+        }
+    }
+}
@@ -0,0 +1,644 @@
+package com.musiclist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Aggregates over a set of tracks: track count, the shortest and longest track, total, median
+ * and percentile durations, and track count and total duration per artist.
+ *
+ * <p>Counters are kept in open-addressing tables backed by primitive arrays, so adding a track
+ * never boxes. Distinct tracks are counted in a further table, and each distinct duration keeps
+ * the distinct tracks that have it, so the shortest and longest tracks can be returned and
+ * adding or removing a track is O(1) on average. The distinct durations are sorted once and
+ * the order is reused by percentile queries until a duration appears or disappears. Statistics
+ * can be built in one pass with {@link #of(Playlist)}, merged with
+ * {@link #combine(PlaylistStatistics)} (e.g. across playlists in parallel, see
+ * {@link #ofAll(List)}), or kept up to date by registering an instance as a
+ * {@link PlaylistListener}. Instances are not thread-safe.</p>
+ */
+public class PlaylistStatistics implements PlaylistListener {
+
+    private final ArtistTable artists = new ArtistTable();
+    private final DurationTable durations = new DurationTable();
+    private int trackCount;
+    private long totalDuration;
+
+    /**
+     * Creates empty statistics.
+     */
+    public PlaylistStatistics() {
+    }
+
+    /**
+     * Computes statistics over a playlist in a single pass.
+     *
+     * @param playlist the playlist (must not be null)
+     * @return the statistics
+     * @throws IllegalArgumentException if playlist is null
+     */
+    public static PlaylistStatistics of(Playlist playlist) {
+        if (playlist == null) {
+            throw new IllegalArgumentException("Playlist must not be null");
+        }
+        PlaylistStatistics statistics = new PlaylistStatistics();
+        for (Track track : playlist) {
+            statistics.add(track);
+        }
+        return statistics;
+    }
+
+    /**
+     * Computes combined statistics over several playlists, processing them in parallel.
+     * The playlists must not be modified meanwhile.
+     *
+     * @param playlists the playlists (must not be null)
+     * @return the combined statistics
+     * @throws IllegalArgumentException if playlists is null or contains null
+     */
+    public static PlaylistStatistics ofAll(List<Playlist> playlists) {
+        if (playlists == null) {
+            throw new IllegalArgumentException("Playlists must not be null");
+        }
+        for (Playlist playlist : playlists) {
+            if (playlist == null) {
+                throw new IllegalArgumentException("Playlists must not be null");
+            }
+        }
+        return playlists.parallelStream()
+                .map(PlaylistStatistics::of)
+                .reduce(PlaylistStatistics::combine)
+                .orElseGet(PlaylistStatistics::new);
+    }
+
+    /**
+     * Counts one track.
+     *
+     * @param track the track (must not be null)
+     * @throws IllegalArgumentException if track is null
+     */
+    public void add(Track track) {
+        if (track == null) {
+            throw new IllegalArgumentException("Track must not be null");
+        }
+        artists.add(track.getArtist(), 1, track.getDurationInSeconds());
+        durations.add(track);
+        trackCount++;
+        totalDuration += track.getDurationInSeconds();
+    }
+
+    /**
+     * Uncounts one previously added track. A track that is not counted is ignored.
+     *
+     * @param track the track (must not be null)
+     * @return true if the track was counted and has been uncounted
+     * @throws IllegalArgumentException if track is null
+     */
+    public boolean remove(Track track) {
+        if (track == null) {
+            throw new IllegalArgumentException("Track must not be null");
+        }
+        if (!durations.remove(track)) {
+            return false;
+        }
+        artists.add(track.getArtist(), -1, -track.getDurationInSeconds());
+        trackCount--;
+        totalDuration -= track.getDurationInSeconds();
+        return true;
+    }
+
+    /**
+     * Adds all counts of {@code other} to these statistics.
+     *
+     * @param other the statistics to merge (must not be null)
+     * @return these statistics
+     * @throws IllegalArgumentException if other is null
+     */
+    public PlaylistStatistics combine(PlaylistStatistics other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Statistics must not be null");
+        }
+        for (int i = 0; i < other.artists.keys.length; i++) {
+            if (other.artists.keys[i] != null) {
+                artists.add(other.artists.keys[i], other.artists.counts[i], other.artists.durations[i]);
+            }
+        }
+        // Read from local copies so that combining statistics with themselves is safe.
+        Track[] tracks = other.durations.entries.clone();
+        int[] counts = other.durations.entryCounts.clone();
+        for (int i = 0; i < tracks.length; i++) {
+            if (counts[i] > 0) {
+                durations.add(tracks[i], counts[i]);
+            }
+        }
+        trackCount += other.trackCount;
+        totalDuration += other.totalDuration;
+        return this;
+    }
+
+    /**
+     * Resets all counters.
+     */
+    public void reset() {
+        artists.clear();
+        durations.clear();
+        trackCount = 0;
+        totalDuration = 0;
+    }
+
+    @Override
+    public void playlistChanged(PlaylistEvent event) {
+        switch (event.getType()) {
+            case INSERTED:
+                add(event.getTrack());
+                break;
+            case REMOVED:
+                remove(event.getTrack());
+                break;
+            case REPLACED:
+                remove(event.getReplacedTrack());
+                add(event.getTrack());
+                break;
+            case CLEARED:
+                // Only the cleared playlist's tracks are uncounted; others may share these statistics.
+                TrackNode cleared = event.getChain();
+                for (int i = 0; i < event.getCount(); i++) {
+                    remove(cleared.getTrack());
+                    cleared = cleared.getNext();
+                }
+                break;
+            case SPLICED:
+                TrackNode node = event.getChain();
+                for (int i = 0; i < event.getCount(); i++) {
+                    add(node.getTrack());
+                    node = node.getNext();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    public int getTrackCount() {
+        return trackCount;
+    }
+
+    public long getTotalDuration() {
+        return totalDuration;
+    }
+
+    /**
+     * Returns the number of distinct artists with at least one track.
+     *
+     * @return the artist count
+     */
+    public int getArtistCount() {
+        return artists.live;
+    }
+
+    /**
+     * Returns the artists with at least one track, in no particular order.
+     *
+     * @return the artist names
+     */
+    public List<String> getArtists() {
+        List<String> names = new ArrayList<>(artists.live);
+        for (int i = 0; i < artists.keys.length; i++) {
+            if (artists.keys[i] != null && artists.counts[i] > 0) {
+                names.add(artists.keys[i]);
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Returns the number of tracks by the given artist.
+     *
+     * @param artist the artist name
+     * @return the track count, 0 if unknown
+     */
+    public int getArtistTrackCount(String artist) {
+        int slot = artists.find(artist);
+        return slot < 0 ? 0 : artists.counts[slot];
+    }
+
+    /**
+     * Returns the total duration in seconds of the tracks by the given artist.
+     *
+     * @param artist the artist name
+     * @return the total duration, 0 if unknown
+     */
+    public long getArtistTotalDuration(String artist) {
+        int slot = artists.find(artist);
+        return slot < 0 ? 0 : artists.durations[slot];
+    }
+
+    /**
+     * Returns a shortest track; which one of several equally short tracks is unspecified.
+     *
+     * @return the shortest track, or null if there are no tracks
+     */
+    public Track getShortestTrack() {
+        if (trackCount == 0) {
+            return null;
+        }
+        return durations.anyTrack(sortedDurations()[0]);
+    }
+
+    /**
+     * Returns a longest track; which one of several equally long tracks is unspecified.
+     *
+     * @return the longest track, or null if there are no tracks
+     */
+    public Track getLongestTrack() {
+        if (trackCount == 0) {
+            return null;
+        }
+        int[] sorted = sortedDurations();
+        return durations.anyTrack(sorted[sorted.length - 1]);
+    }
+
+    /**
+     * Returns the duration of the shortest track, or 0 if there are no tracks.
+     *
+     * @return the shortest duration in seconds
+     */
+    public int getShortestDuration() {
+        return trackCount == 0 ? 0 : sortedDurations()[0];
+    }
+
+    /**
+     * Returns the duration of the longest track, or 0 if there are no tracks.
+     *
+     * @return the longest duration in seconds
+     */
+    public int getLongestDuration() {
+        if (trackCount == 0) {
+            return 0;
+        }
+        int[] sorted = sortedDurations();
+        return sorted[sorted.length - 1];
+    }
+
+    /**
+     * Returns the median duration, averaging the two middle values for an even track count.
+     *
+     * @return the median duration in seconds, or 0 if there are no tracks
+     */
+    public double getMedianDuration() {
+        if (trackCount == 0) {
+            return 0.0;
+        }
+        int[] sorted = sortedDurations();
+        int lower = durationAtRank(sorted, (trackCount - 1) / 2);
+        int upper = durationAtRank(sorted, trackCount / 2);
+        return (lower + upper) / 2.0;
+    }
+
+    /**
+     * Returns the nearest-rank percentile of the track durations.
+     *
+     * @param percentile the percentile, between 0 and 100
+     * @return the duration in seconds, or 0 if there are no tracks
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public int getDurationPercentile(double percentile) {
+        if (percentile < 0.0 || percentile > 100.0) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (trackCount == 0) {
+            return 0;
+        }
+        int rank = (int) Math.max(0, Math.ceil(trackCount * percentile / 100.0) - 1);
+        return durationAtRank(sortedDurations(), rank);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PlaylistStatistics{tracks=%d, artists=%d, totalDuration=%d}",
+                trackCount, artists.live, totalDuration);
+    }
+
+    /** Returns the distinct live durations in ascending order, sorting only after the set changed. */
+    private int[] sortedDurations() {
+        if (durations.sorted == null) {
+            int[] keys = new int[durations.live];
+            int n = 0;
+            for (int i = 0; i < durations.keys.length; i++) {
+                if (durations.sizes[i] > 0) {
+                    keys[n++] = durations.keys[i];
+                }
+            }
+            Arrays.sort(keys);
+            durations.sorted = keys;
+        }
+        return durations.sorted;
+    }
+
+    /** Returns the duration of the track at the 0-based rank in ascending duration order. */
+    private int durationAtRank(int[] sortedKeys, int rank) {
+        int seen = 0;
+        for (int key : sortedKeys) {
+            seen += durations.sizes[durations.find(key)];
+            if (seen > rank) {
+                return key;
+            }
+        }
+        return sortedKeys[sortedKeys.length - 1];
+    }
+
+    /** Open-addressing map from artist name to track count and total duration. */
+    private static final class ArtistTable {
+        private String[] keys = new String[16];
+        private int[] counts = new int[16];
+        private long[] durations = new long[16];
+        private int used;
+        private int live;
+
+        void add(String artist, int count, long duration) {
+            if ((used + 1) * 4 > keys.length * 3) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int slot = mix(artist.hashCode()) & mask;
+            while (keys[slot] != null && !keys[slot].equals(artist)) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == null) {
+                keys[slot] = artist;
+                used++;
+            }
+            int before = counts[slot];
+            counts[slot] += count;
+            durations[slot] += duration;
+            if (before <= 0 && counts[slot] > 0) {
+                live++;
+            } else if (before > 0 && counts[slot] <= 0) {
+                live--;
+            }
+        }
+
+        int find(String artist) {
+            if (artist == null) {
+                return -1;
+            }
+            int mask = keys.length - 1;
+            int slot = mix(artist.hashCode()) & mask;
+            while (keys[slot] != null) {
+                if (keys[slot].equals(artist)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        void clear() {
+            Arrays.fill(keys, null);
+            Arrays.fill(counts, 0);
+            Arrays.fill(durations, 0);
+            used = 0;
+            live = 0;
+        }
+
+        private void resize() {
+            String[] oldKeys = keys;
+            int[] oldCounts = counts;
+            long[] oldDurations = durations;
+            keys = new String[oldKeys.length * 2];
+            counts = new int[keys.length];
+            durations = new long[keys.length];
+            used = 0;
+            live = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldKeys[i] != null && oldCounts[i] != 0) {
+                    add(oldKeys[i], oldCounts[i], oldDurations[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Open-addressing map from duration to the number of tracks with that duration; 0 marks an
+     * empty slot since durations are positive. A second open-addressing table counts each
+     * distinct track (equal title and artist, and equal duration), and each duration keeps the
+     * slots of its distinct tracks in a dense array. A track remembers its position in that
+     * array, so removing the last copy of a track swaps the array's last element into its place.
+     * As in {@link ArtistTable}, tracks whose count drops to 0 keep their slot until the next
+     * resize.
+     */
+    private static final class DurationTable {
+        private int[] keys = new int[16];
+        private int[] sizes = new int[16];
+        /** Per duration slot, the track slots of the distinct tracks with a positive count. */
+        private int[][] members = new int[16][];
+        private int[] memberCounts = new int[16];
+        private int used;
+        private int live;
+        /** The live durations in ascending order, or null if they changed since the last sort. */
+        private int[] sorted;
+
+        private Track[] entries = new Track[16];
+        private int[] entryCounts = new int[16];
+        /** Per track slot, its position in the members array of its duration. */
+        private int[] positions = new int[16];
+        private int entriesUsed;
+        private int entriesLive;
+
+        void add(Track track) {
+            add(track, 1);
+        }
+
+        void add(Track track, int count) {
+            int slot = durationSlot(track.getDurationInSeconds());
+            int entry = entrySlot(track);
+            if (entryCounts[entry] == 0) {
+                if (memberCounts[slot] == members[slot].length) {
+                    members[slot] = Arrays.copyOf(members[slot], memberCounts[slot] * 2);
+                }
+                positions[entry] = memberCounts[slot];
+                members[slot][memberCounts[slot]++] = entry;
+                entriesLive++;
+            }
+            entryCounts[entry] += count;
+            if (sizes[slot] == 0) {
+                live++;
+                sorted = null;
+            }
+            sizes[slot] += count;
+        }
+
+        boolean remove(Track track) {
+            int entry = findEntry(track);
+            if (entry < 0 || entryCounts[entry] == 0) {
+                return false;
+            }
+            int slot = find(track.getDurationInSeconds());
+            if (--entryCounts[entry] == 0) {
+                int moved = members[slot][--memberCounts[slot]];
+                members[slot][positions[entry]] = moved;
+                positions[moved] = positions[entry];
+                entriesLive--;
+            }
+            if (--sizes[slot] == 0) {
+                live--;
+                sorted = null;
+            }
+            return true;
+        }
+
+        /** Returns one of the tracks with a live duration. */
+        Track anyTrack(int duration) {
+            return entries[members[find(duration)][0]];
+        }
+
+        int find(int duration) {
+            int mask = keys.length - 1;
+            int slot = mix(duration) & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == duration) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        void clear() {
+            Arrays.fill(keys, 0);
+            Arrays.fill(sizes, 0);
+            Arrays.fill(members, null);
+            Arrays.fill(memberCounts, 0);
+            used = 0;
+            live = 0;
+            sorted = null;
+            Arrays.fill(entries, null);
+            Arrays.fill(entryCounts, 0);
+            entriesUsed = 0;
+            entriesLive = 0;
+        }
+
+        /** Returns the slot of a duration, adding it if needed. */
+        private int durationSlot(int duration) {
+            if ((used + 1) * 4 > keys.length * 3) {
+                resizeDurations();
+            }
+            int mask = keys.length - 1;
+            int slot = mix(duration) & mask;
+            while (keys[slot] != 0 && keys[slot] != duration) {
+                slot = (slot + 1) & mask;
+            }
+            if (keys[slot] == 0) {
+                keys[slot] = duration;
+                members[slot] = new int[2];
+                used++;
+            }
+            return slot;
+        }
+
+        /** Returns the slot of a distinct track, adding it with a count of 0 if needed. */
+        private int entrySlot(Track track) {
+            if ((entriesUsed + 1) * 4 > entries.length * 3) {
+                resizeEntries();
+            }
+            int mask = entries.length - 1;
+            int slot = entryHash(track) & mask;
+            while (entries[slot] != null && !sameTrack(entries[slot], track)) {
+                slot = (slot + 1) & mask;
+            }
+            if (entries[slot] == null) {
+                entries[slot] = track;
+                entriesUsed++;
+            }
+            return slot;
+        }
+
+        private int findEntry(Track track) {
+            int mask = entries.length - 1;
+            int slot = entryHash(track) & mask;
+            while (entries[slot] != null) {
+                if (sameTrack(entries[slot], track)) {
+                    return slot;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private void resizeDurations() {
+            int[] oldKeys = keys;
+            int[] oldSizes = sizes;
+            int[][] oldMembers = members;
+            int[] oldMemberCounts = memberCounts;
+            keys = new int[oldKeys.length * 2];
+            sizes = new int[keys.length];
+            members = new int[keys.length][];
+            memberCounts = new int[keys.length];
+            used = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldSizes[i] > 0) {
+                    int mask = keys.length - 1;
+                    int slot = mix(oldKeys[i]) & mask;
+                    while (keys[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    keys[slot] = oldKeys[i];
+                    sizes[slot] = oldSizes[i];
+                    members[slot] = oldMembers[i];
+                    memberCounts[slot] = oldMemberCounts[i];
+                    used++;
+                }
+            }
+        }
+
+        /**
+         * Rehashes the live tracks, dropping those with a count of 0, into a table that is at
+         * most half full. Track slots change, so the members arrays are rebuilt.
+         */
+        private void resizeEntries() {
+            Track[] oldEntries = entries;
+            int[] oldCounts = entryCounts;
+            int capacity = 16;
+            while (capacity < (entriesLive + 1) * 2) {
+                capacity *= 2;
+            }
+            entries = new Track[capacity];
+            entryCounts = new int[capacity];
+            positions = new int[capacity];
+            entriesUsed = 0;
+            Arrays.fill(memberCounts, 0);
+            int mask = capacity - 1;
+            for (int i = 0; i < oldEntries.length; i++) {
+                if (oldCounts[i] > 0) {
+                    int slot = entryHash(oldEntries[i]) & mask;
+                    while (entries[slot] != null) {
+                        slot = (slot + 1) & mask;
+                    }
+                    entries[slot] = oldEntries[i];
+                    entryCounts[slot] = oldCounts[i];
+                    entriesUsed++;
+                    int duration = find(oldEntries[i].getDurationInSeconds());
+                    if (memberCounts[duration] == members[duration].length) {
+                        members[duration] = Arrays.copyOf(members[duration], memberCounts[duration] * 2);
+                    }
+                    positions[slot] = memberCounts[duration];
+                    members[duration][memberCounts[duration]++] = slot;
+                }
+            }
+        }
+
+        private static int entryHash(Track track) {
+            return mix(track.hashCode() * 31 + track.getDurationInSeconds());
+        }
+
+        private static boolean sameTrack(Track a, Track b) {
+            return a.getDurationInSeconds() == b.getDurationInSeconds() && a.equals(b);
+        }
+    }
+
+    private static int mix(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
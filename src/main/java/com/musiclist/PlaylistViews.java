@@ -0,0 +1,239 @@
+package com.musiclist;
+
+import java.util.AbstractList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * Read-only views over the nodes of a {@link Playlist}, returned by {@link Playlist#subList},
+ * {@link Playlist#reversed()} and {@link Playlist#filtered}.
+ *
+ * <p>Views never copy tracks. Each view remembers the playlist's modification count when it
+ * is created and throws a {@link ConcurrentModificationException} on access once the playlist
+ * has been structurally modified; a new view has to be requested after every change.</p>
+ */
+final class PlaylistViews {
+
+    private PlaylistViews() {
+    }
+
+    /** Base class for the list views: fail-fast checks and positional node lookup. */
+    private abstract static class NodeList extends AbstractList<Track> {
+        final Playlist playlist;
+        final int expectedModCount;
+
+        NodeList(Playlist playlist) {
+            this.playlist = playlist;
+            this.expectedModCount = playlist.modCount();
+        }
+
+        final void checkForComodification() {
+            if (playlist.modCount() != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        final TrackNode nodeAt(TrackNode from, int steps) {
+            TrackNode node = from;
+            for (int i = 0; i < steps; i++) {
+                node = node.getNext();
+            }
+            return node;
+        }
+    }
+
+    /** A window of consecutive tracks; the first node is located once, on first access. */
+    static final class SubList extends NodeList {
+        private final int fromIndex;
+        private final int size;
+        private TrackNode first;
+
+        SubList(Playlist playlist, int fromIndex, int toIndex) {
+            super(playlist);
+            this.fromIndex = fromIndex;
+            this.size = toIndex - fromIndex;
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public Track get(int index) {
+            checkForComodification();
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return nodeAt(first(), index).getTrack();
+        }
+
+        @Override
+        public Iterator<Track> iterator() {
+            checkForComodification();
+            return new Iterator<>() {
+                private TrackNode current = size == 0 ? null : first();
+                private int remaining = size;
+
+                @Override
+                public boolean hasNext() {
+                    return remaining > 0;
+                }
+
+                @Override
+                public Track next() {
+                    checkForComodification();
+                    if (remaining == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    Track track = current.getTrack();
+                    current = current.getNext();
+                    remaining--;
+                    return track;
+                }
+            };
+        }
+
+        private TrackNode first() {
+            if (first == null) {
+                first = nodeAt(playlist.head(), fromIndex);
+            }
+            return first;
+        }
+    }
+
+    /**
+     * The playlist in reverse order. Since nodes only link forward, iteration records every
+     * {@code sqrt(n)}-th node as a checkpoint and walks one block at a time from the back,
+     * buffering just that block.
+     */
+    static final class Reversed extends NodeList {
+        private final int size;
+
+        Reversed(Playlist playlist) {
+            super(playlist);
+            this.size = playlist.size();
+        }
+
+        @Override
+        public int size() {
+            checkForComodification();
+            return size;
+        }
+
+        @Override
+        public Track get(int index) {
+            checkForComodification();
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+            }
+            return nodeAt(playlist.head(), size - 1 - index).getTrack();
+        }
+
+        @Override
+        public Iterator<Track> iterator() {
+            checkForComodification();
+            return new Iterator<>() {
+                private final int blockSize = Math.max(1, (int) Math.sqrt(size));
+                private final TrackNode[] checkpoints = checkpoints(blockSize);
+                private final Track[] block = new Track[blockSize];
+                private int nextBlock = checkpoints.length - 1;
+                private int position;
+
+                @Override
+                public boolean hasNext() {
+                    return position > 0 || nextBlock >= 0;
+                }
+
+                @Override
+                public Track next() {
+                    checkForComodification();
+                    if (position == 0) {
+                        if (nextBlock < 0) {
+                            throw new NoSuchElementException();
+                        }
+                        fillBlock();
+                    }
+                    Track track = block[--position];
+                    block[position] = null;
+                    return track;
+                }
+
+                private void fillBlock() {
+                    int length = Math.min(blockSize, size - nextBlock * blockSize);
+                    TrackNode node = checkpoints[nextBlock--];
+                    for (int i = 0; i < length; i++) {
+                        block[i] = node.getTrack();
+                        node = node.getNext();
+                    }
+                    position = length;
+                }
+            };
+        }
+
+        private TrackNode[] checkpoints(int blockSize) {
+            TrackNode[] checkpoints = new TrackNode[(size + blockSize - 1) / blockSize];
+            TrackNode node = playlist.head();
+            for (int i = 0; i < size; i++) {
+                if (i % blockSize == 0) {
+                    checkpoints[i / blockSize] = node;
+                }
+                node = node.getNext();
+            }
+            return checkpoints;
+        }
+    }
+
+    /** The tracks matching a predicate, evaluated while iterating. */
+    static final class Filtered implements Iterable<Track> {
+        private final Playlist playlist;
+        private final Predicate<? super Track> filter;
+        private final int expectedModCount;
+
+        Filtered(Playlist playlist, Predicate<? super Track> filter) {
+            this.playlist = playlist;
+            this.filter = filter;
+            this.expectedModCount = playlist.modCount();
+        }
+
+        @Override
+        public Iterator<Track> iterator() {
+            checkForComodification();
+            return new Iterator<>() {
+                private TrackNode current = advance(playlist.head());
+
+                @Override
+                public boolean hasNext() {
+                    return current != null;
+                }
+
+                @Override
+                public Track next() {
+                    checkForComodification();
+                    if (current == null) {
+                        throw new NoSuchElementException();
+                    }
+                    Track track = current.getTrack();
+                    current = advance(current.getNext());
+                    return track;
+                }
+            };
+        }
+
+        private TrackNode advance(TrackNode node) {
+            while (node != null && !filter.test(node.getTrack())) {
+                node = node.getNext();
+            }
+            return node;
+        }
+
+        private void checkForComodification() {
+            if (playlist.modCount() != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
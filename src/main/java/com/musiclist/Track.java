@@ -34,6 +34,25 @@ public class Track {
         this.durationInSeconds = durationInSeconds;
     }
 
+    /**
+     * Creates a Track without checking its values. The duration comes first only to tell this
+     * constructor apart from the public one.
+     */
+    private Track(int durationInSeconds, String title, String artist) {
+        this.title = title;
+        this.artist = artist;
+        this.durationInSeconds = durationInSeconds;
+    }
+
+    /**
+     * Creates a Track from values the caller guarantees to be valid, without checking them,
+     * e.g. when loading a checksummed {@link PlaylistImage} whose tracks were validated when it
+     * was written.
+     */
+    static Track trusted(String title, String artist, int durationInSeconds) {
+        return new Track(durationInSeconds, title, artist);
+    }
+
     public String getTitle() {
         return title;
     }
@@ -52,9 +71,7 @@ public class Track {
      * @return formatted duration string
      */
     public String getFormattedDuration() {
-        int minutes = durationInSeconds / 60;
-        int seconds = durationInSeconds % 60;
-        return String.format("%02d:%02d", minutes, seconds);
+        return appendDuration(new StringBuilder(5)).toString();
     }
 
     @Override
@@ -72,7 +89,29 @@ public class Track {
 
     @Override
     public String toString() {
-        return String.format("Track{title='%s', artist='%s', duration=%s}",
-                title, artist, getFormattedDuration());
+        return appendTo(new StringBuilder()).toString();
+    }
+
+    /**
+     * Appends the same text as {@link #toString()} to a builder, so that a playlist listing is
+     * built without an intermediate string per track.
+     */
+    StringBuilder appendTo(StringBuilder sb) {
+        sb.append("Track{title='").append(title).append("', artist='").append(artist).append("', duration=");
+        return appendDuration(sb).append('}');
+    }
+
+    /** Appends the duration as "mm:ss", with at least two digits of minutes. */
+    private StringBuilder appendDuration(StringBuilder sb) {
+        int minutes = durationInSeconds / 60;
+        int seconds = durationInSeconds % 60;
+        if (minutes < 10) {
+            sb.append('0');
+        }
+        sb.append(minutes).append(':');
+        if (seconds < 10) {
+            sb.append('0');
+        }
+        return sb.append(seconds);
     }
 }
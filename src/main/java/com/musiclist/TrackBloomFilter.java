@@ -0,0 +1,123 @@
+package com.musiclist;
+
+/**
+ * A fixed-size Bloom filter over {@link Track}s, keyed on title and artist.
+ *
+ * <p>{@link #mightContain(Track)} never returns false for a track that was added, but may
+ * return true for one that was not. Memory use is fixed at construction time.</p>
+ *
+ * <p>The probes are derived from two independent 32-bit hashes: {@link Track#hashCode()} and a
+ * seeded FNV-1a hash over the characters of the title and artist. Two distinct tracks only
+ * share all their probes if both hashes collide, so equal {@code hashCode()}s alone do not put
+ * a floor under the false positive rate.</p>
+ */
+public class TrackBloomFilter {
+
+    private final long[] bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    /**
+     * Creates a filter sized for the given number of tracks and false positive rate.
+     *
+     * @param expectedTracks    the number of tracks expected to be added (must be positive)
+     * @param falsePositiveRate the acceptable false positive rate, between 0 and 1 exclusive
+     * @throws IllegalArgumentException if any argument is invalid
+     */
+    public TrackBloomFilter(int expectedTracks, double falsePositiveRate) {
+        if (expectedTracks <= 0) {
+            throw new IllegalArgumentException("Expected tracks must be positive");
+        }
+        if (!(falsePositiveRate > 0.0 && falsePositiveRate < 1.0)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1");
+        }
+        double ln2 = Math.log(2);
+        long optimalBits = (long) Math.ceil(-expectedTracks * Math.log(falsePositiveRate) / (ln2 * ln2));
+        this.bitCount = (int) Math.min(Math.max(optimalBits, 64), Integer.MAX_VALUE - 63);
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedTracks * ln2));
+        this.bits = new long[(bitCount + 63) / 64];
+    }
+
+    /**
+     * Adds a track to the filter.
+     *
+     * @param track the track to add (must not be null)
+     * @return true if the filter changed, i.e. the track was definitely not added before
+     * @throws IllegalArgumentException if track is null
+     */
+    public boolean put(Track track) {
+        if (track == null) {
+            throw new IllegalArgumentException("Track must not be null");
+        }
+        int h1 = track.hashCode();
+        int h2 = secondHash(track);
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            if ((bits[bit >>> 6] & mask) == 0) {
+                bits[bit >>> 6] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Returns true if the track may have been added, false if it definitely was not.
+     *
+     * @param track the track to test
+     * @return false if the track was never added
+     */
+    public boolean mightContain(Track track) {
+        if (track == null) {
+            return false;
+        }
+        int h1 = track.hashCode();
+        int h2 = secondHash(track);
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the number of bits backing the filter.
+     *
+     * @return the filter size in bits
+     */
+    public int bitSize() {
+        return bitCount;
+    }
+
+    /**
+     * Returns an odd hash of the title and artist that is independent of
+     * {@link Track#hashCode()}, so it can serve as the step between probes.
+     */
+    static int secondHash(Track track) {
+        int h = 0x9747B28C;
+        String title = track.getTitle();
+        for (int i = 0; i < title.length(); i++) {
+            h = (h ^ title.charAt(i)) * 0x01000193;
+        }
+        // Hash a separator so that moving characters between title and artist changes the hash.
+        h = (h ^ 0xFFFF) * 0x01000193;
+        String artist = track.getArtist();
+        for (int i = 0; i < artist.length(); i++) {
+            h = (h ^ artist.charAt(i)) * 0x01000193;
+        }
+        return mix(h);
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
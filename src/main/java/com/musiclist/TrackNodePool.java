@@ -0,0 +1,97 @@
+package com.musiclist;
+
+/**
+ * A bounded free list of {@link TrackNode}s for a {@link TrackQueue}, which appends at the tail
+ * and removes at the head many times per second.
+ *
+ * <p>Free nodes are chained through their own {@code next} reference, so the pool itself never
+ * allocates. Once it has warmed up, a queue using the pool can enqueue and dequeue without
+ * creating garbage. A free node keeps its last track until it is reused, so a pool retains at
+ * most {@code capacity} tracks. Nodes are only handed to queues, which never expose them, so a
+ * recycled node cannot still be referenced from outside. Like {@link Playlist}, a pool is not
+ * thread-safe.</p>
+ */
+public class TrackNodePool {
+
+    private final int capacity;
+    private TrackNode free;
+    private int available;
+    private long reused;
+    private long created;
+
+    /**
+     * Creates an empty pool that retains at most {@code capacity} free nodes.
+     *
+     * @param capacity the maximum number of free nodes kept (must be positive)
+     * @throws IllegalArgumentException if capacity is not positive
+     */
+    public TrackNodePool(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+    }
+
+    /**
+     * Returns a node holding the given track and next reference, reusing a free node if possible.
+     *
+     * @param track the track to store (must not be null)
+     * @param next  the next node (may be null)
+     * @return a node ready to be linked into a queue
+     * @throws IllegalArgumentException if track is null
+     */
+    TrackNode acquire(Track track, TrackNode next) {
+        TrackNode node = free;
+        if (node == null) {
+            created++;
+            return new TrackNode(track, next);
+        }
+        node.setTrack(track);
+        free = node.getNext();
+        node.setNext(next);
+        available--;
+        reused++;
+        return node;
+    }
+
+    /**
+     * Returns a node that has been unlinked from its queue. Nodes beyond the capacity are left
+     * to the garbage collector.
+     *
+     * @param node the node to recycle (must no longer be reachable from any queue)
+     */
+    void release(TrackNode node) {
+        if (available < capacity) {
+            node.setNext(free);
+            free = node;
+            available++;
+        }
+    }
+
+    /**
+     * Returns the number of free nodes currently held.
+     *
+     * @return the free node count
+     */
+    public int available() {
+        return available;
+    }
+
+    /**
+     * Returns how many {@link #acquire(Track, TrackNode)} calls were served from the free list.
+     *
+     * @return the number of reused nodes
+     */
+    public long reusedCount() {
+        return reused;
+    }
+
+    /**
+     * Returns how many {@link #acquire(Track, TrackNode)} calls had to allocate a new node.
+     *
+     * @return the number of allocated nodes
+     */
+    public long createdCount() {
+        return created;
+    }
+}
@@ -0,0 +1,115 @@
+package com.musiclist;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A first-in, first-out queue of tracks for "now playing" style churn, where tracks are
+ * appended at the tail and taken from the head many times per second.
+ *
+ * <p>The queue links its own {@link TrackNode}s and takes them from a {@link TrackNodePool}: a
+ * node removed at the head goes straight back to the pool and is reused by the next append, so
+ * a warmed-up queue enqueues and dequeues without allocating. Nodes never leave the queue;
+ * there is no iterator or view, and {@link #toList()} copies the tracks. Like {@link Playlist},
+ * a queue is not thread-safe.</p>
+ */
+public final class TrackQueue {
+
+    private final TrackNodePool pool;
+    private TrackNode head;
+    private TrackNode tail;
+    private int size;
+
+    /**
+     * Creates an empty queue that takes its nodes from the given pool.
+     *
+     * @param pool the pool to take nodes from and return them to (must not be null)
+     * @throws IllegalArgumentException if pool is null
+     */
+    public TrackQueue(TrackNodePool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("Pool must not be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Appends a track at the tail.
+     *
+     * @param track the track to append (must not be null)
+     * @throws IllegalArgumentException if track is null
+     */
+    public void enqueue(Track track) {
+        TrackNode node = pool.acquire(track, null);
+        if (tail == null) {
+            head = node;
+        } else {
+            tail.setNext(node);
+        }
+        tail = node;
+        size++;
+    }
+
+    /**
+     * Removes and returns the track at the head.
+     *
+     * @return the removed track, or null if the queue is empty
+     */
+    public Track dequeue() {
+        TrackNode node = head;
+        if (node == null) {
+            return null;
+        }
+        head = node.getNext();
+        if (head == null) {
+            tail = null;
+        }
+        size--;
+        Track track = node.getTrack();
+        pool.release(node);
+        return track;
+    }
+
+    /**
+     * Returns the track at the head without removing it.
+     *
+     * @return the head track, or null if the queue is empty
+     */
+    public Track peek() {
+        return head == null ? null : head.getTrack();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all tracks, returning their nodes to the pool.
+     */
+    public void clear() {
+        while (head != null) {
+            dequeue();
+        }
+    }
+
+    /**
+     * Returns a copy of the queued tracks, head first.
+     *
+     * @return the tracks
+     */
+    public List<Track> toList() {
+        List<Track> tracks = new ArrayList<>(size);
+        for (TrackNode node = head; node != null; node = node.getNext()) {
+            tracks.add(node.getTrack());
+        }
+        return tracks;
+    }
+
+    public TrackNodePool getNodePool() {
+        return pool;
+    }
+}
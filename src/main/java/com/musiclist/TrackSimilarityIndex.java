@@ -0,0 +1,343 @@
+package com.musiclist;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * An inverted index from title and artist tokens to tracks, answering "more like this" queries
+ * for a seed {@link Playlist}.
+ *
+ * <p>Titles and artists are split into lower-case words; artist words and title words are kept
+ * apart, so "Queen" the artist does not match a song called "Queen". A query only visits the
+ * posting lists of the seed's words and scores each candidate by the summed inverse document
+ * frequency of the words it shares with the seed, weighted by how often the word occurs in the
+ * seed and scaled down by the distance of the candidate's duration from the seed's average
+ * duration. Words that occur in more than {@code maxPostings} tracks carry almost no
+ * information and are skipped, which bounds the cost of a query independently of the catalog
+ * size. The k best candidates are kept in a heap.</p>
+ *
+ * <p>Tracks can be added and removed at any time, directly or by registering the index as a
+ * {@link PlaylistListener} of a catalog playlist, so tracks deleted from the catalog are no
+ * longer recommended. Equal tracks are indexed once but counted, and a track leaves the index
+ * when it has been removed as often as it was added. Each id remembers its slot in the posting
+ * list of each of its words, so removing a track moves the last id of each list into its slot
+ * in O(1) per word, however long the list, and frees the id for reuse. Instances are not
+ * thread-safe.</p>
+ */
+public class TrackSimilarityIndex implements PlaylistListener {
+
+    /** Weight of an artist word relative to a title word. */
+    private static final double ARTIST_WEIGHT = 2.0;
+    /** Duration difference in seconds at which the duration factor drops to 1/2. */
+    private static final double DURATION_SCALE = 60.0;
+
+    private final int maxPostings;
+    /** Tracks by id; null for a freed id. */
+    private final List<Track> tracks = new ArrayList<>();
+    private final Map<Track, Integer> ids = new HashMap<>();
+    /** The number of times the track with each id has been added and not removed. */
+    private int[] counts = new int[16];
+    /** The posting lists holding each id, and the id's slot in each of them. */
+    private Postings[][] lists = new Postings[16][];
+    private int[][] slots = new int[16][];
+    private int[] freeIds = new int[16];
+    private int freeCount;
+    private final Map<String, Postings> postings = new HashMap<>();
+    private double[] scores = new double[16];
+    private int[] touched = new int[16];
+
+    /**
+     * Creates an empty index that skips words occurring in more than 10,000 tracks.
+     */
+    public TrackSimilarityIndex() {
+        this(10_000);
+    }
+
+    /**
+     * Creates an empty index.
+     *
+     * @param maxPostings the number of tracks above which a word is ignored in queries (must be positive)
+     * @throws IllegalArgumentException if maxPostings is not positive
+     */
+    public TrackSimilarityIndex(int maxPostings) {
+        if (maxPostings <= 0) {
+            throw new IllegalArgumentException("Max postings must be positive");
+        }
+        this.maxPostings = maxPostings;
+    }
+
+    /**
+     * Adds a track to the index. A track equal to an indexed track is only counted again.
+     *
+     * @param track the track to add (must not be null)
+     * @return true if the track was added, false if an equal track was already indexed
+     * @throws IllegalArgumentException if track is null
+     */
+    public boolean add(Track track) {
+        if (track == null) {
+            throw new IllegalArgumentException("Track must not be null");
+        }
+        Integer existing = ids.get(track);
+        if (existing != null) {
+            counts[existing]++;
+            return false;
+        }
+        int id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+            tracks.set(id, track);
+        } else {
+            id = tracks.size();
+            tracks.add(track);
+            if (id == scores.length) {
+                scores = Arrays.copyOf(scores, id * 2);
+                counts = Arrays.copyOf(counts, id * 2);
+                lists = Arrays.copyOf(lists, id * 2);
+                slots = Arrays.copyOf(slots, id * 2);
+            }
+        }
+        ids.put(track, id);
+        counts[id] = 1;
+        Set<String> words = words(track);
+        lists[id] = new Postings[words.size()];
+        slots[id] = new int[words.size()];
+        int n = 0;
+        for (String word : words) {
+            Postings list = postings.computeIfAbsent(word, Postings::new);
+            lists[id][n] = list;
+            slots[id][n++] = list.size;
+            list.add(id);
+        }
+        return true;
+    }
+
+    /**
+     * Uncounts a track, removing it from the index once it has been removed as often as it was
+     * added. Tracks that are not indexed are ignored.
+     *
+     * @param track the track to remove (must not be null)
+     * @return true if the track left the index, false if it is still counted or was not indexed
+     * @throws IllegalArgumentException if track is null
+     */
+    public boolean remove(Track track) {
+        if (track == null) {
+            throw new IllegalArgumentException("Track must not be null");
+        }
+        Integer id = ids.get(track);
+        if (id == null || --counts[id] > 0) {
+            return false;
+        }
+        for (int i = 0; i < lists[id].length; i++) {
+            unlink(lists[id][i], slots[id][i]);
+        }
+        lists[id] = null;
+        slots[id] = null;
+        ids.remove(track);
+        tracks.set(id, null);
+        if (freeCount == freeIds.length) {
+            freeIds = Arrays.copyOf(freeIds, freeCount * 2);
+        }
+        freeIds[freeCount++] = id;
+        return true;
+    }
+
+    /** Removes the id at a slot of a posting list by moving the list's last id into it. */
+    private void unlink(Postings list, int slot) {
+        int moved = list.ids[--list.size];
+        list.ids[slot] = moved;
+        if (slot != list.size) {
+            Postings[] movedLists = lists[moved];
+            for (int i = 0; i < movedLists.length; i++) {
+                if (movedLists[i] == list) {
+                    slots[moved][i] = slot;
+                    break;
+                }
+            }
+        }
+        if (list.size == 0) {
+            postings.remove(list.word);
+        }
+    }
+
+    /**
+     * Adds all tracks of a playlist or other collection.
+     *
+     * @param tracks the tracks to add (must not be null or contain null)
+     * @return the number of tracks that were added
+     * @throws IllegalArgumentException if tracks is null or contains null
+     */
+    public int addAll(Iterable<Track> tracks) {
+        if (tracks == null) {
+            throw new IllegalArgumentException("Tracks must not be null");
+        }
+        int added = 0;
+        for (Track track : tracks) {
+            if (add(track)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    @Override
+    public void playlistChanged(PlaylistEvent event) {
+        switch (event.getType()) {
+            case INSERTED:
+                add(event.getTrack());
+                break;
+            case REMOVED:
+                remove(event.getTrack());
+                break;
+            case REPLACED:
+                remove(event.getReplacedTrack());
+                add(event.getTrack());
+                break;
+            case CLEARED:
+                TrackNode cleared = event.getChain();
+                for (int i = 0; i < event.getCount(); i++) {
+                    remove(cleared.getTrack());
+                    cleared = cleared.getNext();
+                }
+                break;
+            case SPLICED:
+                TrackNode node = event.getChain();
+                for (int i = 0; i < event.getCount(); i++) {
+                    add(node.getTrack());
+                    node = node.getNext();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * Returns the number of indexed tracks.
+     *
+     * @return the index size
+     */
+    public int size() {
+        return ids.size();
+    }
+
+    /**
+     * Returns up to {@code k} indexed tracks that are most similar to the tracks of the seed,
+     * best first. Tracks contained in the seed and tracks sharing no word with it are never
+     * returned.
+     *
+     * @param seed the playlist to find similar tracks for (must not be null)
+     * @param k    the maximum number of tracks to return (must be positive)
+     * @return the similar tracks, best first
+     * @throws IllegalArgumentException if seed is null or k is not positive
+     */
+    public List<Track> similarTo(Playlist seed, int k) {
+        if (seed == null) {
+            throw new IllegalArgumentException("Seed must not be null");
+        }
+        if (k <= 0) {
+            throw new IllegalArgumentException("k must be positive");
+        }
+        if (seed.isEmpty() || ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, Integer> seedWords = new HashMap<>();
+        Set<Integer> seedIds = new HashSet<>();
+        long durationSum = 0;
+        for (Track track : seed) {
+            for (String word : words(track)) {
+                seedWords.merge(word, 1, Integer::sum);
+            }
+            Integer id = ids.get(track);
+            if (id != null) {
+                seedIds.add(id);
+            }
+            durationSum += track.getDurationInSeconds();
+        }
+        double seedDuration = (double) durationSum / seed.size();
+
+        int touchedCount = 0;
+        for (Map.Entry<String, Integer> entry : seedWords.entrySet()) {
+            Postings list = postings.get(entry.getKey());
+            if (list == null || list.size > maxPostings) {
+                continue;
+            }
+            double weight = entry.getValue() * Math.log(1.0 + (double) ids.size() / list.size)
+                    * (entry.getKey().startsWith("a:") ? ARTIST_WEIGHT : 1.0);
+            for (int i = 0; i < list.size; i++) {
+                int id = list.ids[i];
+                if (scores[id] == 0.0) {
+                    if (touchedCount == touched.length) {
+                        touched = Arrays.copyOf(touched, touchedCount * 2);
+                    }
+                    touched[touchedCount++] = id;
+                }
+                scores[id] += weight;
+            }
+        }
+
+        PriorityQueue<double[]> best = new PriorityQueue<>(k + 1, (a, b) -> Double.compare(a[0], b[0]));
+        for (int i = 0; i < touchedCount; i++) {
+            int id = touched[i];
+            double score = scores[id];
+            scores[id] = 0.0;
+            if (seedIds.contains(id)) {
+                continue;
+            }
+            double distance = Math.abs(tracks.get(id).getDurationInSeconds() - seedDuration);
+            score /= 1.0 + distance / DURATION_SCALE;
+            if (best.size() < k) {
+                best.add(new double[] {score, id});
+            } else if (score > best.peek()[0]) {
+                best.poll();
+                best.add(new double[] {score, id});
+            }
+        }
+        Track[] result = new Track[best.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = tracks.get((int) best.poll()[1]);
+        }
+        return Arrays.asList(result);
+    }
+
+    /** Returns the distinct artist words ("a:" prefix) and title words ("t:" prefix) of a track. */
+    static Set<String> words(Track track) {
+        Set<String> words = new HashSet<>();
+        addWords(words, "a:", track.getArtist());
+        addWords(words, "t:", track.getTitle());
+        return words;
+    }
+
+    private static void addWords(Set<String> words, String prefix, String text) {
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (!word.isEmpty()) {
+                words.add(prefix + word);
+            }
+        }
+    }
+
+    /** A growable, unordered list of the ids of the tracks containing a word. */
+    private static final class Postings {
+        private final String word;
+        private int[] ids = new int[4];
+        private int size;
+
+        Postings(String word) {
+            this.word = word;
+        }
+
+        void add(int id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = id;
+        }
+    }
+}
@@ -0,0 +1,277 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedPlaylistTest {
+
+    private PartitionedPlaylist playlist;
+    private Track track1;
+    private Track track2;
+    private Track track3;
+
+    @BeforeEach
+    void setUp() {
+        playlist = new PartitionedPlaylist("Huge", 4);
+        track1 = new Track("Bohemian Rhapsody", "Queen", 354);
+        track2 = new Track("Imagine", "John Lennon", 187);
+        track3 = new Track("Yesterday", "The Beatles", 125);
+    }
+
+    private static List<Track> numberedTracks(int count) {
+        List<Track> tracks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tracks.add(new Track("Song " + i, "Artist " + (i % 7), 100 + i));
+        }
+        return tracks;
+    }
+
+    // -------------------------------------------------------------------------
+    // Construction
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testConstruction() {
+        assertEquals("Huge", playlist.getName());
+        assertTrue(playlist.isEmpty());
+        assertEquals(0, playlist.segmentCount());
+    }
+
+    @Test
+    void testNonPositiveSegmentCapacityThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PartitionedPlaylist("Huge", 0));
+    }
+
+    // -------------------------------------------------------------------------
+    // Appends
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testAddTrackFillsSegmentsInOrder() {
+        List<Track> tracks = numberedTracks(10);
+        for (Track track : tracks) {
+            playlist.addTrack(track);
+        }
+        assertEquals(10, playlist.size());
+        assertEquals(3, playlist.segmentCount());
+        assertEquals(tracks, playlist.toList());
+        assertEquals(tracks.get(9), playlist.getTrack(9));
+    }
+
+    @Test
+    void testAddAllBuildsSegments() {
+        List<Track> tracks = numberedTracks(10);
+        playlist.addTrack(track1);
+        playlist.addAll(tracks);
+        assertEquals(11, playlist.size());
+        assertEquals(track1, playlist.getTrack(0));
+        assertEquals(tracks.get(0), playlist.getTrack(1));
+        assertEquals(tracks.get(9), playlist.getTrack(10));
+    }
+
+    @Test
+    void testSmallAddAllsTopUpTheLastSegment() {
+        List<Track> tracks = numberedTracks(30);
+        for (int i = 0; i < tracks.size(); i += 3) {
+            playlist.addAll(tracks.subList(i, i + 3));
+        }
+        assertEquals(8, playlist.segmentCount());
+        assertEquals(tracks, playlist.toList());
+        assertEquals(tracks.get(29), playlist.getTrack(29));
+    }
+
+    @Test
+    void testAddAllAcceptsImmutableList() {
+        playlist.addAll(List.of(track1, track2, track3));
+        assertEquals(List.of(track1, track2, track3), playlist.toList());
+    }
+
+    @Test
+    void testAddAllWithNullTrackThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> playlist.addAll(Arrays.asList(track1, null)));
+        assertTrue(playlist.isEmpty());
+    }
+
+    @Test
+    void testConcurrentAppends() throws InterruptedException {
+        PartitionedPlaylist shared = new PartitionedPlaylist("Shared", 16);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            int id = t;
+            threads.add(new Thread(() -> {
+                for (int i = 0; i < 500; i++) {
+                    shared.addTrack(new Track("Song " + id + "-" + i, "Artist", 100));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(4000, shared.size());
+        assertEquals(400_000L, shared.getTotalDuration());
+    }
+
+    @Test
+    void testAddNullTrackThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> playlist.addTrack(null));
+    }
+
+    // -------------------------------------------------------------------------
+    // Positional operations match Playlist
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testRandomOperationsMatchPlaylist() {
+        Random random = new Random(7);
+        Playlist reference = new Playlist("Reference");
+        List<Track> pool = numberedTracks(50);
+        for (int step = 0; step < 2000; step++) {
+            int op = random.nextInt(4);
+            if (op == 0 || reference.isEmpty()) {
+                Track track = pool.get(random.nextInt(pool.size()));
+                int index = random.nextInt(reference.size() + 1);
+                reference.addTrackAtIndex(index, track);
+                playlist.addTrackAtIndex(index, track);
+            } else if (op == 1) {
+                Track track = pool.get(random.nextInt(pool.size()));
+                reference.addTrack(track);
+                playlist.addTrack(track);
+            } else if (op == 2) {
+                int index = random.nextInt(reference.size());
+                assertEquals(reference.removeTrackAtIndex(index), playlist.removeTrackAtIndex(index));
+            } else {
+                Track track = pool.get(random.nextInt(pool.size()));
+                assertEquals(reference.removeTrack(track), playlist.removeTrack(track));
+            }
+            assertEquals(reference.size(), playlist.size());
+        }
+        List<Track> expected = new ArrayList<>();
+        reference.forEach(expected::add);
+        assertEquals(expected, playlist.toList());
+        assertEquals(reference.getTotalDuration(), playlist.getTotalDuration());
+        for (Track track : pool) {
+            assertEquals(reference.indexOf(track), playlist.indexOf(track));
+            assertEquals(reference.contains(track), playlist.contains(track));
+        }
+    }
+
+    @Test
+    void testRemovalsMergeSmallSegments() {
+        PartitionedPlaylist large = new PartitionedPlaylist("Large", 8);
+        List<Track> tracks = new ArrayList<>(numberedTracks(80));
+        large.addAll(tracks);
+        assertEquals(10, large.segmentCount());
+        Random random = new Random(3);
+        while (tracks.size() > 10) {
+            int index = random.nextInt(tracks.size());
+            assertEquals(tracks.remove(index), large.removeTrackAtIndex(index));
+            // Every segment keeps at least a quarter of the capacity, so at most size / 2 remain.
+            assertTrue(large.segmentCount() <= Math.max(1, tracks.size() / 2),
+                    tracks.size() + " tracks in " + large.segmentCount() + " segments");
+        }
+        assertEquals(tracks, large.toList());
+        assertTrue(large.removeTrack(tracks.get(0)));
+        tracks.remove(0);
+        assertEquals(tracks, large.toList());
+        assertTrue(large.segmentCount() <= 4);
+    }
+
+    @Test
+    void testOutOfBoundsIndexThrowsException() {
+        playlist.addTrack(track1);
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> playlist.getTrack(1));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> playlist.getTrack(-1));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> playlist.addTrackAtIndex(2, track2));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> playlist.removeTrackAtIndex(1));
+    }
+
+    // -------------------------------------------------------------------------
+    // Scans and bulk filters
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testContainsAndIndexOf() {
+        playlist.addAll(numberedTracks(20));
+        playlist.addTrack(track3);
+        assertTrue(playlist.contains(track3));
+        assertEquals(20, playlist.indexOf(track3));
+        assertFalse(playlist.contains(track2));
+        assertEquals(-1, playlist.indexOf(track2));
+    }
+
+    @Test
+    void testRemoveTrackUsesRemovedTrackDuration() {
+        List<Track> tracks = numberedTracks(9);
+        playlist.addAll(tracks);
+        long before = playlist.getTotalDuration();
+        assertTrue(playlist.removeTrack(new Track("Song 8", "Artist 1", 1)));
+        assertEquals(before - 108, playlist.getTotalDuration());
+        assertEquals(2, playlist.segmentCount());
+        assertFalse(playlist.removeTrack(tracks.get(8)));
+        assertEquals(tracks.subList(0, 8), playlist.toList());
+    }
+
+    @Test
+    void testFilterKeepsOrder() {
+        List<Track> tracks = numberedTracks(20);
+        playlist.addAll(tracks);
+        List<Track> matches = playlist.filter(track -> track.getArtist().equals("Artist 3"));
+        assertEquals(List.of(tracks.get(3), tracks.get(10), tracks.get(17)), matches);
+    }
+
+    @Test
+    void testRemoveIfUpdatesSizeAndDuration() {
+        List<Track> tracks = numberedTracks(20);
+        playlist.addAll(tracks);
+        long before = playlist.getTotalDuration();
+        int removed = playlist.removeIf(track -> track.getDurationInSeconds() < 108);
+        assertEquals(8, removed);
+        assertEquals(12, playlist.size());
+        long removedDuration = 0;
+        for (int i = 0; i < 8; i++) {
+            removedDuration += 100 + i;
+        }
+        assertEquals(before - removedDuration, playlist.getTotalDuration());
+        assertEquals(tracks.get(8), playlist.getTrack(0));
+        assertEquals(3, playlist.segmentCount());
+    }
+
+    @Test
+    void testRemoveIfMergesSmallSegments() {
+        PartitionedPlaylist large = new PartitionedPlaylist("Large", 8);
+        List<Track> tracks = numberedTracks(80);
+        large.addAll(tracks);
+        large.removeIf(track -> track.getDurationInSeconds() % 8 != 0);
+        assertEquals(10, large.size());
+        assertEquals(5, large.segmentCount());
+        List<Track> expected = new ArrayList<>();
+        for (int i = 0; i < 80; i += 8) {
+            expected.add(tracks.get(i + 4));
+        }
+        assertEquals(expected, large.toList());
+        assertEquals(expected.get(9), large.getTrack(9));
+    }
+
+    @Test
+    void testClear() {
+        playlist.addAll(numberedTracks(10));
+        playlist.clear();
+        assertTrue(playlist.isEmpty());
+        assertEquals(0L, playlist.getTotalDuration());
+    }
+}
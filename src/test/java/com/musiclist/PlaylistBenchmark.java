@@ -0,0 +1,126 @@
+package com.musiclist;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Offline micro-benchmarks for {@link Playlist} workloads, reporting time and bytes allocated
+ * per operation for the current thread (the in-process equivalent of a GC profiler).
+ *
+ * <p>Not a JUnit test; run it with
+ * {@code java -cp out/main:out/test com.musiclist.PlaylistBenchmark [iterations]}.</p>
+ */
+public class PlaylistBenchmark {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 5_000_000;
+        for (int round = 1; round <= 3; round++) {
+            System.out.println("round " + round);
+            report("queue churn, playlist", iterations, () -> queueChurn(iterations));
+            report("queue churn, pooled queue", iterations, () -> pooledQueueChurn(iterations));
+            int moves = Math.max(1, iterations / 1000);
+            Playlist large = largePlaylist();
+            report("drag, remove+insert", moves, () -> reorder(large, moves, false));
+            report("drag, moveTrack", moves, () -> reorder(large, moves, true));
+            report("swap", moves, () -> swaps(large, moves));
+            report("render, unchanged", moves, () -> render(moves, false));
+            report("render, after edit", moves, () -> render(moves, true));
+        }
+    }
+
+    /** Appends at the tail and removes at the head of a 1000-track playlist. */
+    private static long queueChurn(int iterations) {
+        Playlist queue = new Playlist("Now Playing");
+        for (int i = 0; i < 1000; i++) {
+            queue.addTrack(new Track("Song " + i, "Artist", 180));
+        }
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            Track played = queue.removeTrackAtIndex(0);
+            checksum += played.getDurationInSeconds();
+            queue.addTrack(played);
+        }
+        return checksum;
+    }
+
+    /** The same churn on a 1000-track {@link TrackQueue} backed by a node pool. */
+    private static long pooledQueueChurn(int iterations) {
+        TrackQueue queue = new TrackQueue(new TrackNodePool(1024));
+        for (int i = 0; i < 1000; i++) {
+            queue.enqueue(new Track("Song " + i, "Artist", 180));
+        }
+        long checksum = 0;
+        for (int i = 0; i < iterations; i++) {
+            Track played = queue.dequeue();
+            checksum += played.getDurationInSeconds();
+            queue.enqueue(played);
+        }
+        return checksum;
+    }
+
+    /** Drags random tracks to random positions in a 10,000-track playlist. */
+    private static long reorder(Playlist playlist, int moves, boolean relink) {
+        Random random = new Random(42);
+        for (int i = 0; i < moves; i++) {
+            int from = random.nextInt(playlist.size());
+            int to = random.nextInt(playlist.size());
+            if (relink) {
+                playlist.moveTrack(from, to);
+            } else {
+                playlist.addTrackAtIndex(to, playlist.removeTrackAtIndex(from));
+            }
+        }
+        return playlist.getTrack(0).getDurationInSeconds();
+    }
+
+    /** Swaps random pairs of tracks in a 10,000-track playlist. */
+    private static long swaps(Playlist playlist, int swaps) {
+        Random random = new Random(42);
+        for (int i = 0; i < swaps; i++) {
+            playlist.swap(random.nextInt(playlist.size()), random.nextInt(playlist.size()));
+        }
+        return playlist.getTrack(0).getDurationInSeconds();
+    }
+
+    /** Renders a 1000-track playlist repeatedly, optionally rotating one track in between. */
+    private static long render(int renders, boolean edit) {
+        Playlist playlist = new Playlist("Listing");
+        for (int i = 0; i < 1000; i++) {
+            playlist.addTrack(new Track("Song " + i, "Artist " + i % 100, 120 + i % 300));
+        }
+        long checksum = 0;
+        for (int i = 0; i < renders; i++) {
+            if (edit) {
+                playlist.moveTrack(0, playlist.size() - 1);
+            }
+            checksum += playlist.toString().length();
+        }
+        return checksum;
+    }
+
+    private static Playlist largePlaylist() {
+        Playlist playlist = new Playlist("Large");
+        for (int i = 0; i < 10_000; i++) {
+            playlist.addTrack(new Track("Song " + i, "Artist " + i % 100, 120 + i % 300));
+        }
+        return playlist;
+    }
+
+    private interface Workload {
+        long run();
+    }
+
+    private static void report(String name, int operations, Workload workload) {
+        long threadId = Thread.currentThread().threadId();
+        long bytesBefore = THREADS.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long checksum = workload.run();
+        long nanos = System.nanoTime() - start;
+        long bytes = THREADS.getThreadAllocatedBytes(threadId) - bytesBefore;
+        System.out.printf("  %-24s %8.1f ns/op %10.2f B/op (checksum %d)%n",
+                name, (double) nanos / operations, (double) bytes / operations, checksum);
+    }
+}
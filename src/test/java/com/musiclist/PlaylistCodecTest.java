@@ -0,0 +1,173 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaylistCodecTest {
+
+    private Track track1;
+    private Track track2;
+    private Track track3;
+
+    @BeforeEach
+    void setUp() {
+        track1 = new Track("Bohemian Rhapsody", "Queen", 354);
+        track2 = new Track("Imagine", "John Lennon", 187);
+        track3 = new Track("Yesterday", "The Beatles", 125);
+    }
+
+    private static byte[] encode(Playlist playlist, boolean deflate) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PlaylistCodec.write(playlist, out, deflate);
+        return out.toByteArray();
+    }
+
+    private static Playlist decode(byte[] bytes) throws IOException {
+        return PlaylistCodec.read(new ByteArrayInputStream(bytes));
+    }
+
+    private static List<Track> contents(Playlist playlist) {
+        List<Track> tracks = new ArrayList<>();
+        for (Track track : playlist) {
+            tracks.add(track);
+        }
+        return tracks;
+    }
+
+    /** A playlist spanning several blocks, with few artists and a wide range of durations. */
+    private static Playlist large() {
+        Playlist playlist = new Playlist("Large");
+        for (int i = 0; i < PlaylistCodec.BLOCK_SIZE * 2 + 17; i++) {
+            playlist.addTrack(new Track("Song " + i, "Artist " + i % 50, 1 + i * 7 % 3600));
+        }
+        return playlist;
+    }
+
+    // -------------------------------------------------------------------------
+    // Round trips
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Playlist playlist = new Playlist("Classics ♫");
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        playlist.addTrack(track1);
+        for (boolean deflate : new boolean[] {false, true}) {
+            Playlist decoded = decode(encode(playlist, deflate));
+            assertEquals("Classics ♫", decoded.getName());
+            assertEquals(List.of(track1, track2, track3, track1), contents(decoded));
+            assertEquals(playlist.getTotalDuration(), decoded.getTotalDuration());
+        }
+    }
+
+    @Test
+    void testRoundTripAcrossBlocks() throws IOException {
+        Playlist playlist = large();
+        for (boolean deflate : new boolean[] {false, true}) {
+            Playlist decoded = decode(encode(playlist, deflate));
+            assertEquals(playlist.size(), decoded.size());
+            assertEquals(contents(playlist), contents(decoded));
+            assertEquals(playlist.getTotalDuration(), decoded.getTotalDuration());
+        }
+    }
+
+    @Test
+    void testEmptyAndUnnamedPlaylist() throws IOException {
+        Playlist decoded = decode(encode(new Playlist(null), true));
+        assertNull(decoded.getName());
+        assertTrue(decoded.isEmpty());
+    }
+
+    @Test
+    void testNullArgumentsThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PlaylistCodec.write(null, new ByteArrayOutputStream(), false));
+        assertThrows(IllegalArgumentException.class,
+                () -> PlaylistCodec.write(new Playlist("X"), null, false));
+        assertThrows(IllegalArgumentException.class, () -> PlaylistCodec.read(null));
+    }
+
+    // -------------------------------------------------------------------------
+    // Size
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testEncodingIsSmallerThanText() throws IOException {
+        Playlist playlist = large();
+        int textSize = 0;
+        for (Track track : playlist) {
+            textSize += (track.getTitle() + "\t" + track.getArtist() + "\t" + track.getDurationInSeconds() + "\n")
+                    .getBytes(StandardCharsets.UTF_8).length;
+        }
+        int plain = encode(playlist, false).length;
+        int deflated = encode(playlist, true).length;
+        assertTrue(plain * 3 < textSize * 2, plain + " vs " + textSize);
+        assertTrue(deflated * 3 < textSize, deflated + " vs " + textSize);
+    }
+
+    // -------------------------------------------------------------------------
+    // Streaming
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testReaderStreamsTracks() throws IOException {
+        Playlist playlist = large();
+        PlaylistCodec.Reader reader = PlaylistCodec.reader(new ByteArrayInputStream(encode(playlist, true)));
+        assertEquals("Large", reader.getName());
+        int count = 0;
+        for (Track expected : playlist) {
+            assertTrue(reader.hasNext());
+            assertEquals(expected, reader.next());
+            count++;
+        }
+        assertFalse(reader.hasNext());
+        assertEquals(playlist.size(), count);
+        reader.close();
+    }
+
+    // -------------------------------------------------------------------------
+    // Corruption
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testWrongHeaderIsRejected() throws IOException {
+        byte[] bytes = encode(new Playlist("X"), false);
+        bytes[0] = 0;
+        assertThrows(IOException.class, () -> decode(bytes));
+        assertThrows(IOException.class, () -> decode(new byte[2]));
+    }
+
+    @Test
+    void testTruncatedStreamIsRejected() throws IOException {
+        byte[] bytes = encode(large(), true);
+        byte[] truncated = Arrays.copyOf(bytes, bytes.length / 2);
+        assertThrows(IOException.class, () -> decode(truncated));
+    }
+
+    @Test
+    void testCorruptBlockFailsReader() throws IOException {
+        Playlist playlist = new Playlist("X");
+        playlist.addTrack(track1);
+        byte[] bytes = encode(playlist, true);
+        bytes[bytes.length - 3] ^= 0x55;
+        PlaylistCodec.Reader reader = PlaylistCodec.reader(new ByteArrayInputStream(bytes));
+        assertThrows(UncheckedIOException.class, () -> {
+            while (reader.hasNext()) {
+                reader.next();
+            }
+        });
+    }
+}
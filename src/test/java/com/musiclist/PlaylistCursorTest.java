@@ -0,0 +1,239 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaylistCursorTest {
+
+    private Playlist playlist;
+    private Track track1;
+    private Track track2;
+    private Track track3;
+    private Track track4;
+
+    @BeforeEach
+    void setUp() {
+        playlist = new Playlist("Cursor");
+        track1 = new Track("Bohemian Rhapsody", "Queen", 354);
+        track2 = new Track("Imagine", "John Lennon", 187);
+        track3 = new Track("Yesterday", "The Beatles", 125);
+        track4 = new Track("Hey Jude", "The Beatles", 431);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+    }
+
+    private List<Track> contents() {
+        List<Track> tracks = new ArrayList<>();
+        for (Track track : playlist) {
+            tracks.add(track);
+        }
+        return tracks;
+    }
+
+    // -------------------------------------------------------------------------
+    // Traversal
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testWalksAllTracks() {
+        PlaylistCursor cursor = playlist.cursor();
+        assertEquals(0, cursor.nextIndex());
+        assertEquals(track1, cursor.next());
+        assertEquals(track2, cursor.next());
+        assertEquals(track3, cursor.next());
+        assertFalse(cursor.hasNext());
+        assertEquals(3, cursor.nextIndex());
+        assertThrows(NoSuchElementException.class, cursor::next);
+    }
+
+    // -------------------------------------------------------------------------
+    // remove
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testRemoveDuringTraversal() {
+        PlaylistCursor cursor = playlist.cursor();
+        while (cursor.hasNext()) {
+            if (cursor.next().getArtist().startsWith("J")) {
+                cursor.remove();
+            }
+        }
+        assertEquals(List.of(track1, track3), contents());
+        assertEquals(2, playlist.size());
+    }
+
+    @Test
+    void testRemoveAllKeepsTailConsistent() {
+        PlaylistCursor cursor = playlist.cursor();
+        while (cursor.hasNext()) {
+            cursor.next();
+            cursor.remove();
+        }
+        assertTrue(playlist.isEmpty());
+        playlist.addTrack(track4);
+        assertEquals(List.of(track4), contents());
+    }
+
+    @Test
+    void testRemoveLastThenAppend() {
+        PlaylistCursor cursor = playlist.cursor();
+        cursor.next();
+        cursor.next();
+        cursor.next();
+        cursor.remove();
+        playlist.addTrack(track4);
+        assertEquals(List.of(track1, track2, track4), contents());
+    }
+
+    @Test
+    void testRemoveWithoutNextThrowsException() {
+        PlaylistCursor cursor = playlist.cursor();
+        assertThrows(IllegalStateException.class, cursor::remove);
+        cursor.next();
+        cursor.remove();
+        assertThrows(IllegalStateException.class, cursor::remove);
+    }
+
+    // -------------------------------------------------------------------------
+    // add and set
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testAddInsertsBeforeCursor() {
+        PlaylistCursor cursor = playlist.cursor();
+        cursor.add(track4);
+        assertEquals(track1, cursor.next());
+        cursor.add(track4);
+        assertEquals(3, cursor.nextIndex());
+        assertEquals(track2, cursor.next());
+        assertEquals(List.of(track4, track1, track4, track2, track3), contents());
+    }
+
+    @Test
+    void testAddAtEndUpdatesTail() {
+        PlaylistCursor cursor = playlist.cursor();
+        while (cursor.hasNext()) {
+            cursor.next();
+        }
+        cursor.add(track4);
+        assertFalse(cursor.hasNext());
+        playlist.addTrack(track1);
+        assertEquals(List.of(track1, track2, track3, track4, track1), contents());
+    }
+
+    @Test
+    void testAddThenRemoveThrowsException() {
+        PlaylistCursor cursor = playlist.cursor();
+        cursor.next();
+        cursor.add(track4);
+        assertThrows(IllegalStateException.class, cursor::remove);
+        assertThrows(IllegalArgumentException.class, () -> cursor.add(null));
+    }
+
+    @Test
+    void testSetReplacesTrack() {
+        PlaylistCursor cursor = playlist.cursor();
+        cursor.next();
+        cursor.next();
+        cursor.set(track4);
+        assertEquals(List.of(track1, track4, track3), contents());
+        assertTrue(playlist.toString().contains("Hey Jude"));
+        assertThrows(IllegalArgumentException.class, () -> cursor.set(null));
+    }
+
+    @Test
+    void testSetFiresReplaced() {
+        List<PlaylistEvent> events = new ArrayList<>();
+        playlist.addListener(events::add);
+        PlaylistCursor cursor = playlist.cursor();
+        cursor.next();
+        cursor.set(track4);
+        assertEquals(1, events.size());
+        assertEquals(PlaylistEvent.Type.REPLACED, events.get(0).getType());
+        assertEquals(0, events.get(0).getIndex());
+        assertEquals(track4, events.get(0).getTrack());
+        assertEquals(track1, events.get(0).getReplacedTrack());
+    }
+
+    @Test
+    void testSetIsUndoneInOneStep() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10);
+        PlaylistCursor cursor = playlist.cursor();
+        cursor.next();
+        cursor.next();
+        cursor.set(track4);
+        assertEquals(List.of(track1, track4, track3), contents());
+
+        assertTrue(history.undo());
+        assertEquals(List.of(track1, track2, track3), contents());
+        assertFalse(history.canUndo());
+
+        assertTrue(history.redo());
+        assertEquals(List.of(track1, track4, track3), contents());
+    }
+
+    @Test
+    void testSetUpdatesStatistics() {
+        PlaylistStatistics statistics = PlaylistStatistics.of(playlist);
+        playlist.addListener(statistics);
+        PlaylistCursor cursor = playlist.cursor();
+        cursor.next();
+        cursor.set(track4);
+        assertEquals(3, statistics.getTrackCount());
+        assertEquals(PlaylistStatistics.of(playlist).getTotalDuration(), statistics.getTotalDuration());
+    }
+
+    @Test
+    void testEditsCanBeUndone() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10);
+        PlaylistCursor cursor = playlist.cursor();
+        cursor.next();
+        cursor.remove();
+        cursor.next();
+        cursor.add(track4);
+        history.undo();
+        history.undo();
+        assertEquals(List.of(track1, track2, track3), contents());
+    }
+
+    // -------------------------------------------------------------------------
+    // Fail-fast
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testFailsAfterOutsideModification() {
+        PlaylistCursor cursor = playlist.cursor();
+        cursor.next();
+        playlist.addTrack(track4);
+        assertThrows(ConcurrentModificationException.class, cursor::next);
+        assertThrows(ConcurrentModificationException.class, cursor::remove);
+        assertThrows(ConcurrentModificationException.class, () -> cursor.add(track4));
+    }
+
+    @Test
+    void testOwnEditsDoNotInvalidateCursor() {
+        PlaylistCursor cursor = playlist.cursor();
+        cursor.next();
+        cursor.remove();
+        cursor.add(track4);
+        assertEquals(track2, cursor.next());
+    }
+
+    @Test
+    void testOtherIteratorsFailAfterCursorEdit() {
+        PlaylistCursor cursor = playlist.cursor();
+        Iterator<Track> iterator = playlist.iterator();
+        cursor.next();
+        cursor.remove();
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+}
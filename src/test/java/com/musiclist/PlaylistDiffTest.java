@@ -0,0 +1,223 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaylistDiffTest {
+
+    private Track track1;
+    private Track track2;
+    private Track track3;
+    private Track track4;
+
+    @BeforeEach
+    void setUp() {
+        track1 = new Track("Bohemian Rhapsody", "Queen", 354);
+        track2 = new Track("Imagine", "John Lennon", 187);
+        track3 = new Track("Yesterday", "The Beatles", 125);
+        track4 = new Track("Hey Jude", "The Beatles", 431);
+    }
+
+    private static Playlist playlistOf(String name, Track... tracks) {
+        Playlist playlist = new Playlist(name);
+        for (Track track : tracks) {
+            playlist.addTrack(track);
+        }
+        return playlist;
+    }
+
+    private static List<Track> contents(Playlist playlist) {
+        List<Track> tracks = new ArrayList<>();
+        for (Track track : playlist) {
+            tracks.add(track);
+        }
+        return tracks;
+    }
+
+    // -------------------------------------------------------------------------
+    // between
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testIdenticalPlaylistsProduceEmptyDiff() {
+        Playlist a = playlistOf("a", track1, track2, track3);
+        Playlist b = playlistOf("b", track1, track2, track3);
+        assertTrue(PlaylistDiff.between(a, b).isEmpty());
+    }
+
+    @Test
+    void testSingleInsertion() {
+        Playlist a = playlistOf("a", track1, track3);
+        Playlist b = playlistOf("b", track1, track2, track3);
+        PlaylistDiff diff = PlaylistDiff.between(a, b);
+        assertEquals(1, diff.size());
+        PlaylistDiff.Edit edit = diff.getEdits().get(0);
+        assertEquals(PlaylistDiff.Edit.Type.INSERT, edit.getType());
+        assertEquals(1, edit.getIndex());
+        assertEquals(track2, edit.getTrack());
+    }
+
+    @Test
+    void testSingleDeletion() {
+        Playlist a = playlistOf("a", track1, track2, track3);
+        Playlist b = playlistOf("b", track1, track3);
+        PlaylistDiff diff = PlaylistDiff.between(a, b);
+        assertEquals(1, diff.size());
+        assertEquals(PlaylistDiff.Edit.Type.DELETE, diff.getEdits().get(0).getType());
+        assertEquals(1, diff.getEdits().get(0).getIndex());
+    }
+
+    @Test
+    void testDiffFromEmptyPlaylist() {
+        Playlist a = playlistOf("a");
+        Playlist b = playlistOf("b", track1, track2);
+        PlaylistDiff diff = PlaylistDiff.between(a, b);
+        assertEquals(2, diff.size());
+        diff.applyTo(a);
+        assertEquals(contents(b), contents(a));
+    }
+
+    @Test
+    void testEditsAreOrderedByNonIncreasingIndex() {
+        Playlist a = playlistOf("a", track1, track2, track3, track4);
+        Playlist b = playlistOf("b", track4, track2, track1);
+        List<PlaylistDiff.Edit> edits = PlaylistDiff.between(a, b).getEdits();
+        for (int i = 1; i < edits.size(); i++) {
+            assertTrue(edits.get(i).getIndex() <= edits.get(i - 1).getIndex());
+        }
+    }
+
+    @Test
+    void testNullPlaylistThrowsException() {
+        Playlist a = playlistOf("a");
+        assertThrows(IllegalArgumentException.class,
+                () -> PlaylistDiff.between(a, null));
+    }
+
+    // -------------------------------------------------------------------------
+    // applyTo
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testApplyTurnsSourceIntoTarget() {
+        Playlist a = playlistOf("a", track1, track2, track3, track4);
+        Playlist b = playlistOf("b", track3, track1, track4, track2);
+        PlaylistDiff.between(a, b).applyTo(a);
+        assertEquals(contents(b), contents(a));
+    }
+
+    @Test
+    void testApplyRandomPlaylists() {
+        Random random = new Random(42);
+        Track[] pool = {track1, track2, track3, track4};
+        for (int round = 0; round < 200; round++) {
+            Playlist a = new Playlist("a");
+            Playlist b = new Playlist("b");
+            int sizeA = random.nextInt(12);
+            int sizeB = random.nextInt(12);
+            for (int i = 0; i < sizeA; i++) {
+                a.addTrack(pool[random.nextInt(pool.length)]);
+            }
+            for (int i = 0; i < sizeB; i++) {
+                b.addTrack(pool[random.nextInt(pool.length)]);
+            }
+            PlaylistDiff diff = PlaylistDiff.between(a, b);
+            assertTrue(diff.size() <= sizeA + sizeB);
+            diff.applyTo(a);
+            assertEquals(contents(b), contents(a));
+        }
+    }
+
+    @Test
+    void testDiffIsMinimal() {
+        Random random = new Random(7);
+        Track[] pool = {track1, track2, track3, track4};
+        for (int round = 0; round < 300; round++) {
+            List<Track> a = new ArrayList<>();
+            List<Track> b = new ArrayList<>();
+            int sizeA = random.nextInt(30);
+            int sizeB = random.nextInt(30);
+            for (int i = 0; i < sizeA; i++) {
+                a.add(pool[random.nextInt(pool.length)]);
+            }
+            for (int i = 0; i < sizeB; i++) {
+                b.add(pool[random.nextInt(pool.length)]);
+            }
+            int[][] lcs = new int[sizeA + 1][sizeB + 1];
+            for (int i = sizeA - 1; i >= 0; i--) {
+                for (int j = sizeB - 1; j >= 0; j--) {
+                    lcs[i][j] = a.get(i).equals(b.get(j))
+                            ? lcs[i + 1][j + 1] + 1 : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+                }
+            }
+            PlaylistDiff diff = PlaylistDiff.between(playlistOf("a", a.toArray(new Track[0])),
+                    playlistOf("b", b.toArray(new Track[0])));
+            assertEquals(sizeA + sizeB - 2 * lcs[0][0], diff.size());
+        }
+    }
+
+    @Test
+    void testDiffOfLargeDisjointPlaylists() {
+        Playlist a = new Playlist("a");
+        Playlist b = new Playlist("b");
+        for (int i = 0; i < 5_000; i++) {
+            a.addTrack(new Track("A " + i, "Artist", 100));
+            b.addTrack(new Track("B " + i, "Artist", 100));
+        }
+        PlaylistDiff diff = PlaylistDiff.between(a, b);
+        assertEquals(10_000, diff.size());
+        diff.applyTo(a);
+        assertEquals(contents(b), contents(a));
+    }
+
+    @Test
+    void testApplyFewEditsToLongPlaylist() {
+        Playlist a = new Playlist("a");
+        for (int i = 0; i < 100_000; i++) {
+            a.addTrack(new Track("Song " + i, "Artist", 100));
+        }
+        Playlist b = new Playlist("b");
+        for (Track track : a) {
+            b.addTrack(track);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            b.removeTrackAtIndex(99_000 - i * 90);
+            b.addTrackAtIndex(i * 95, new Track("New " + i, "Artist", 100));
+        }
+        PlaylistDiff diff = PlaylistDiff.between(a, b);
+        assertTrue(diff.size() <= 2_000);
+        diff.applyTo(a);
+        assertEquals(contents(b), contents(a));
+    }
+
+    @Test
+    void testApplyToShorterPlaylistThrowsException() {
+        PlaylistDiff diff = PlaylistDiff.between(playlistOf("a", track1, track2, track3),
+                playlistOf("b", track1, track2));
+        assertThrows(IndexOutOfBoundsException.class,
+                () -> diff.applyTo(playlistOf("other", track1)));
+    }
+
+    @Test
+    void testApplyToMismatchingPlaylistThrowsException() {
+        Playlist a = playlistOf("a", track1, track2);
+        Playlist b = playlistOf("b", track1);
+        PlaylistDiff diff = PlaylistDiff.between(a, b);
+        Playlist other = playlistOf("other", track1, track3);
+        assertThrows(IllegalStateException.class,
+                () -> diff.applyTo(other));
+    }
+
+    @Test
+    void testApplyToNullThrowsException() {
+        PlaylistDiff diff = PlaylistDiff.between(playlistOf("a"), playlistOf("b"));
+        assertThrows(IllegalArgumentException.class,
+                () -> diff.applyTo(null));
+    }
+}
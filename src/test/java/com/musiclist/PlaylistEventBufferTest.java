@@ -0,0 +1,159 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaylistEventBufferTest {
+
+    private Playlist playlist;
+    private Track track1;
+    private Track track2;
+    private Track track3;
+
+    @BeforeEach
+    void setUp() {
+        playlist = new Playlist("Buffered");
+        track1 = new Track("Bohemian Rhapsody", "Queen", 354);
+        track2 = new Track("Imagine", "John Lennon", 187);
+        track3 = new Track("Yesterday", "The Beatles", 125);
+    }
+
+    // -------------------------------------------------------------------------
+    // Construction
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testNonPositiveCapacityThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PlaylistEventBuffer(0));
+    }
+
+    // -------------------------------------------------------------------------
+    // drain
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testDrainReturnsEventsInBatches() {
+        PlaylistEventBuffer buffer = new PlaylistEventBuffer(10);
+        playlist.addListener(buffer);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        assertEquals(3, buffer.pending());
+
+        List<PlaylistEvent> first = buffer.drain(2);
+        assertEquals(2, first.size());
+        assertEquals(track1, first.get(0).getTrack());
+        assertEquals(track2, first.get(1).getTrack());
+
+        List<PlaylistEvent> second = buffer.drain(2);
+        assertEquals(1, second.size());
+        assertEquals(track3, second.get(0).getTrack());
+        assertTrue(buffer.drain(2).isEmpty());
+    }
+
+    @Test
+    void testDrainWithNonPositiveBatchSizeThrowsException() {
+        PlaylistEventBuffer buffer = new PlaylistEventBuffer(10);
+        assertThrows(IllegalArgumentException.class,
+                () -> buffer.drain(0));
+    }
+
+    // -------------------------------------------------------------------------
+    // Overflow
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testOverflowDropsEventsUntilReset() {
+        PlaylistEventBuffer buffer = new PlaylistEventBuffer(2);
+        playlist.addListener(buffer);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        assertFalse(buffer.hasOverflowed());
+        playlist.addTrack(track3);
+        assertTrue(buffer.hasOverflowed());
+        assertEquals(0, buffer.pending());
+
+        playlist.clear();
+        assertEquals(0, buffer.pending());
+
+        buffer.reset();
+        assertFalse(buffer.hasOverflowed());
+        playlist.addTrack(track1);
+        assertEquals(1, buffer.pending());
+    }
+
+    @Test
+    void testResetThenRescanMissesNoChange() {
+        PlaylistEventBuffer buffer = new PlaylistEventBuffer(1);
+        playlist.addListener(buffer);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        assertTrue(buffer.hasOverflowed());
+
+        // The consumer resets first, then rescans; a change made during the rescan is queued.
+        buffer.reset();
+        List<Track> rescanned = new ArrayList<>();
+        for (Track track : playlist) {
+            rescanned.add(track);
+        }
+        playlist.addTrack(track3);
+
+        assertEquals(List.of(track1, track2), rescanned);
+        assertFalse(buffer.hasOverflowed());
+        List<PlaylistEvent> events = buffer.drain(10);
+        assertEquals(1, events.size());
+        assertEquals(track3, events.get(0).getTrack());
+    }
+
+    // -------------------------------------------------------------------------
+    // Back-pressure
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testBlockingBufferWaitsForConsumer() throws InterruptedException {
+        PlaylistEventBuffer buffer = new PlaylistEventBuffer(2, true);
+        playlist.addListener(buffer);
+        Thread producer = new Thread(() -> {
+            playlist.addTrack(track1);
+            playlist.addTrack(track2);
+            playlist.addTrack(track3);
+        });
+        producer.start();
+        while (producer.getState() != Thread.State.WAITING) {
+            assertTrue(producer.isAlive(), "Producer must block on the full buffer");
+            Thread.sleep(1);
+        }
+        assertEquals(2, buffer.pending());
+
+        List<PlaylistEvent> events = new ArrayList<>(buffer.drain(1));
+        producer.join(5_000);
+        assertFalse(producer.isAlive());
+        events.addAll(buffer.drain(10));
+        assertFalse(buffer.hasOverflowed());
+        assertEquals(3, events.size());
+        assertEquals(track1, events.get(0).getTrack());
+        assertEquals(track2, events.get(1).getTrack());
+        assertEquals(track3, events.get(2).getTrack());
+    }
+
+    @Test
+    void testInterruptedBlockingBufferOverflows() {
+        PlaylistEventBuffer buffer = new PlaylistEventBuffer(1, true);
+        playlist.addListener(buffer);
+        playlist.addTrack(track1);
+        Thread.currentThread().interrupt();
+        try {
+            playlist.addTrack(track2);
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        assertTrue(buffer.hasOverflowed());
+    }
+}
@@ -0,0 +1,143 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaylistGeneratorTest {
+
+    private static List<Track> randomPool(int size, long seed) {
+        Random random = new Random(seed);
+        List<Track> pool = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            pool.add(new Track("Song " + i, "Artist " + random.nextInt(size / 10 + 1),
+                    120 + random.nextInt(360)));
+        }
+        return pool;
+    }
+
+    // -------------------------------------------------------------------------
+    // Construction
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testNegativeLimitsThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new PlaylistGenerator(-1, 0, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PlaylistGenerator(0, -1, null));
+    }
+
+    @Test
+    void testInvalidArgumentsThrowException() {
+        PlaylistGenerator generator = new PlaylistGenerator();
+        assertThrows(IllegalArgumentException.class,
+                () -> generator.generate("Mix", null, 60));
+        assertThrows(IllegalArgumentException.class,
+                () -> generator.generate("Mix", List.of(), 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> generator.generate("Mix", List.of(), PlaylistGenerator.MAX_TARGET_SECONDS + 1));
+    }
+
+    @Test
+    void testHugeToleranceIsCappedAtMaxTarget() {
+        List<Track> pool = List.of(new Track("A", "One", 100), new Track("B", "Two", 200));
+        Playlist playlist = new PlaylistGenerator(Integer.MAX_VALUE, 0, null).generate("Mix", pool, 1000);
+        assertNotNull(playlist);
+        assertEquals(300, playlist.getTotalDuration());
+    }
+
+    // -------------------------------------------------------------------------
+    // generate
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testExactFit() {
+        List<Track> pool = List.of(
+                new Track("A", "One", 100),
+                new Track("B", "Two", 250),
+                new Track("C", "Three", 200),
+                new Track("D", "Four", 150));
+        Playlist playlist = new PlaylistGenerator().generate("Mix", pool, 450);
+        assertNotNull(playlist);
+        assertEquals("Mix", playlist.getName());
+        assertEquals(450, playlist.getTotalDuration());
+    }
+
+    @Test
+    void testNoFitReturnsNull() {
+        List<Track> pool = List.of(new Track("A", "One", 100), new Track("B", "Two", 100));
+        assertNull(new PlaylistGenerator().generate("Mix", pool, 150));
+    }
+
+    @Test
+    void testToleranceAllowsNearbyTotal() {
+        List<Track> pool = List.of(new Track("A", "One", 100), new Track("B", "Two", 100));
+        Playlist playlist = new PlaylistGenerator(60, 0, null).generate("Mix", pool, 150);
+        assertNotNull(playlist);
+        assertEquals(100, playlist.getTotalDuration());
+    }
+
+    @Test
+    void testSameDurationTracksAreUsedAtMostOnce() {
+        List<Track> pool = List.of(
+                new Track("A", "One", 100),
+                new Track("B", "Two", 100),
+                new Track("C", "Three", 100));
+        assertEquals(300, new PlaylistGenerator().generate("Mix", pool, 300).getTotalDuration());
+        assertNull(new PlaylistGenerator().generate("Mix", pool, 400));
+    }
+
+    @Test
+    void testDuplicateCandidatesAreIgnored() {
+        Track track = new Track("A", "One", 100);
+        assertNull(new PlaylistGenerator().generate("Mix", List.of(track, track), 200));
+    }
+
+    @Test
+    void testArtistLimitIsRespected() {
+        List<Track> pool = List.of(
+                new Track("A", "Same", 100),
+                new Track("B", "Same", 100),
+                new Track("C", "Other", 200));
+        Playlist playlist = new PlaylistGenerator(0, 1, null).generate("Mix", pool, 300);
+        assertNotNull(playlist);
+        assertEquals(2, playlist.size());
+        assertNull(new PlaylistGenerator(0, 1, null).generate("Mix", pool, 400));
+    }
+
+    @Test
+    void testArtistLimitKeepsFirstCandidatesOfEachArtist() {
+        // 250 = B + C fits the limit, but the limit keeps only A, the first track by "Same".
+        List<Track> pool = List.of(
+                new Track("A", "Same", 100),
+                new Track("B", "Same", 200),
+                new Track("C", "Other", 50));
+        assertNull(new PlaylistGenerator(0, 1, null).generate("Mix", pool, 250));
+        assertNotNull(new PlaylistGenerator(0, 1, null).generate("Mix", List.of(pool.get(1), pool.get(0),
+                pool.get(2)), 250));
+    }
+
+    @Test
+    void testLargePoolHitsHourTarget() {
+        List<Track> pool = randomPool(100_000, 1);
+        Playlist playlist = new PlaylistGenerator(30, 2, new Random(3)).generate("Workout", pool, 3600);
+        assertNotNull(playlist);
+        assertTrue(Math.abs(playlist.getTotalDuration() - 3600) <= 30);
+
+        Set<Track> distinct = new HashSet<>();
+        Map<String, Integer> perArtist = new HashMap<>();
+        for (Track track : playlist) {
+            assertTrue(distinct.add(track));
+            assertTrue(perArtist.merge(track.getArtist(), 1, Integer::sum) <= 2);
+        }
+    }
+}
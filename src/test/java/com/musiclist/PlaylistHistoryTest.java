@@ -0,0 +1,317 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaylistHistoryTest {
+
+    private Playlist playlist;
+    private Track track1;
+    private Track track2;
+    private Track track3;
+
+    @BeforeEach
+    void setUp() {
+        playlist = new Playlist("History");
+        track1 = new Track("Bohemian Rhapsody", "Queen", 354);
+        track2 = new Track("Imagine", "John Lennon", 187);
+        track3 = new Track("Yesterday", "The Beatles", 125);
+    }
+
+    private List<Track> contents() {
+        List<Track> tracks = new ArrayList<>();
+        for (Track track : playlist) {
+            tracks.add(track);
+        }
+        return tracks;
+    }
+
+    // -------------------------------------------------------------------------
+    // Construction
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testInvalidArgumentsThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PlaylistHistory.attach(null, 10));
+        assertThrows(IllegalArgumentException.class,
+                () -> PlaylistHistory.attach(playlist, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> PlaylistHistory.attach(playlist, 10, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> PlaylistHistory.attach(playlist, 10, 0, 0));
+    }
+
+    @Test
+    void testNewHistoryHasNothingToUndo() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10);
+        assertFalse(history.canUndo());
+        assertFalse(history.canRedo());
+        assertFalse(history.undo());
+        assertFalse(history.redo());
+    }
+
+    // -------------------------------------------------------------------------
+    // undo and redo
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testUndoAndRedoInsertions() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10);
+        playlist.addTrack(track1);
+        playlist.addTrackAtBeginning(track2);
+        playlist.addTrackAtIndex(1, track3);
+        assertEquals(3, history.undoDepth());
+
+        assertTrue(history.undo());
+        assertEquals(List.of(track2, track1), contents());
+        assertTrue(history.undo());
+        assertEquals(List.of(track1), contents());
+
+        assertTrue(history.redo());
+        assertEquals(List.of(track2, track1), contents());
+        assertTrue(history.redo());
+        assertEquals(List.of(track2, track3, track1), contents());
+        assertFalse(history.canRedo());
+    }
+
+    @Test
+    void testUndoRemovals() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10);
+        playlist.removeTrack(track2);
+        playlist.removeTrackAtIndex(0);
+
+        history.undo();
+        assertEquals(List.of(track1, track3), contents());
+        history.undo();
+        assertEquals(List.of(track1, track2, track3), contents());
+        history.redo();
+        history.redo();
+        assertEquals(List.of(track3), contents());
+    }
+
+    @Test
+    void testUndoClearRestoresSameNodes() {
+        for (int i = 0; i < 1000; i++) {
+            playlist.addTrack(new Track("Song " + i, "Artist", 100 + i));
+        }
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10);
+        playlist.clear();
+        assertTrue(playlist.isEmpty());
+
+        assertTrue(history.undo());
+        assertEquals(1000, playlist.size());
+        assertEquals("Song 999", playlist.getTrack(999).getTitle());
+
+        assertTrue(history.redo());
+        assertTrue(playlist.isEmpty());
+        assertTrue(history.undo());
+        assertEquals(1000, playlist.size());
+    }
+
+    @Test
+    void testRedoneClearRestoresTheNodesItDetached() {
+        Track track4 = new Track("Hey Jude", "The Beatles", 431);
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        playlist.clear();
+        assertTrue(history.undo());
+        assertTrue(history.undo());
+        assertTrue(history.redo());
+        assertTrue(history.redo());
+        assertTrue(history.undo());
+        assertEquals(3, playlist.size());
+        assertEquals(List.of(track1, track2, track3), contents());
+
+        playlist.addTrack(track4);
+        assertEquals(4, playlist.size());
+        assertEquals(List.of(track1, track2, track3, track4), contents());
+        assertEquals(track4, playlist.getTrack(3));
+    }
+
+    @Test
+    void testRedoneClearAfterCoalescedInsertionsRestoresContents() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10, 60_000);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.clear();
+        assertTrue(history.undo());
+        assertTrue(history.undo());
+        assertTrue(history.redo());
+        assertTrue(history.redo());
+        assertTrue(history.undo());
+        assertEquals(2, playlist.size());
+        assertEquals(List.of(track1, track2), contents());
+    }
+
+    @Test
+    void testNewEditDiscardsRedo() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10);
+        playlist.addTrack(track1);
+        history.undo();
+        assertTrue(history.canRedo());
+        playlist.addTrack(track2);
+        assertFalse(history.canRedo());
+        assertEquals(List.of(track2), contents());
+    }
+
+    @Test
+    void testHistoryIsBoundedByMaxEntries() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 2);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        assertEquals(2, history.undoDepth());
+        history.undo();
+        history.undo();
+        assertFalse(history.undo());
+        assertEquals(List.of(track1), contents());
+    }
+
+    @Test
+    void testClearsAreBoundedByMaxTracks() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 100_000, 2_500, 0);
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 1000; i++) {
+                playlist.addTrack(new Track("Song " + round + "-" + i, "Artist", 100));
+            }
+            playlist.clear();
+        }
+        // The last clear and the appends before it fit the budget; the clear before them does not.
+        assertEquals(2_000, history.retainedTracks());
+        assertTrue(history.undo());
+        assertEquals(1000, playlist.size());
+        assertEquals("Song 4-0", playlist.getTrack(0).getTitle());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(history.undo());
+        }
+        assertFalse(history.undo());
+        assertTrue(playlist.isEmpty());
+    }
+
+    @Test
+    void testEntryLargerThanBudgetIsNotKept() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 1000, 100, 0);
+        for (int i = 0; i < 200; i++) {
+            playlist.addTrack(new Track("Song " + i, "Artist", 100));
+        }
+        assertEquals(100, history.retainedTracks());
+        playlist.clear();
+        assertFalse(history.canUndo());
+        assertEquals(0, history.retainedTracks());
+    }
+
+    @Test
+    void testCoalescedEntryCountsEveryTrack() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10, 3, 60_000);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        assertEquals(1, history.undoDepth());
+        assertEquals(3, history.retainedTracks());
+        playlist.addTrack(track1);
+        assertFalse(history.canUndo());
+    }
+
+    // -------------------------------------------------------------------------
+    // Coalescing
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testAdjacentEditsAreCoalesced() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10, 60_000);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        assertEquals(1, history.undoDepth());
+        history.undo();
+        assertTrue(playlist.isEmpty());
+        history.redo();
+        assertEquals(List.of(track1, track2, track3), contents());
+    }
+
+    @Test
+    void testBackspaceRemovalsAreCoalesced() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10, 60_000);
+        playlist.removeTrackAtIndex(2);
+        playlist.removeTrackAtIndex(1);
+        assertEquals(1, history.undoDepth());
+        history.undo();
+        assertEquals(List.of(track1, track2, track3), contents());
+    }
+
+    @Test
+    void testNonAdjacentEditsAreNotCoalesced() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10, 60_000);
+        playlist.addTrack(track1);
+        playlist.addTrackAtBeginning(track2);
+        playlist.removeTrackAtIndex(0);
+        assertEquals(3, history.undoDepth());
+    }
+
+    @Test
+    void testUndoAndRedoMovesAndSwaps() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10);
+        playlist.moveTrack(0, 2);
+        playlist.swap(0, 1);
+        assertEquals(List.of(track3, track2, track1), contents());
+
+        history.undo();
+        assertEquals(List.of(track2, track3, track1), contents());
+        history.undo();
+        assertEquals(List.of(track1, track2, track3), contents());
+        history.redo();
+        history.redo();
+        assertEquals(List.of(track3, track2, track1), contents());
+    }
+
+    @Test
+    void testAppendAllResetsSourceHistory() {
+        Playlist other = new Playlist("Other");
+        PlaylistHistory sourceHistory = PlaylistHistory.attach(other, 10);
+        other.addTrack(track1);
+        other.addTrack(track2);
+        playlist.appendAll(other);
+        assertFalse(sourceHistory.canUndo());
+        assertEquals(List.of(track1, track2), contents());
+    }
+
+    @Test
+    void testReorderingDiscardsHistory() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.spreadShuffle(new Random(0));
+        assertFalse(history.canUndo());
+    }
+
+    // -------------------------------------------------------------------------
+    // detach
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testDetachStopsRecording() {
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 10);
+        playlist.addTrack(track1);
+        history.detach();
+        playlist.addTrack(track2);
+        assertFalse(history.canUndo());
+    }
+}
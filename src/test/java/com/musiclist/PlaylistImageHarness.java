@@ -0,0 +1,56 @@
+package com.musiclist;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+/**
+ * Offline startup comparison: building the default playlists from their tab-separated source
+ * track by track, as the service does at startup, versus loading a prebuilt
+ * {@link PlaylistImage}.
+ *
+ * <p>The first round shows the cold cost including class loading and interpretation; later
+ * rounds show the warmed-up cost. Not a JUnit test; run it with
+ * {@code java -cp out/main:out/test com.musiclist.PlaylistImageHarness [playlists] [tracks]}.</p>
+ */
+public class PlaylistImageHarness {
+
+    public static void main(String[] args) throws IOException {
+        int playlists = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int tracksPerPlaylist = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        String tsv = defaultPlaylists(playlists, tracksPerPlaylist);
+        ByteArrayOutputStream image = new ByteArrayOutputStream();
+        PlaylistImage.write(PlaylistImage.parseTsv(new BufferedReader(new StringReader(tsv))), image);
+        byte[] bytes = image.toByteArray();
+        System.out.printf("%d playlists x %d tracks: source %,d bytes, image %,d bytes%n",
+                playlists, tracksPerPlaylist, tsv.length(), bytes.length);
+
+        for (int round = 1; round <= 5; round++) {
+            long start = System.nanoTime();
+            List<Playlist> built = PlaylistImage.parseTsv(new BufferedReader(new StringReader(tsv)));
+            long buildNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            List<Playlist> loaded = PlaylistImage.read(new ByteArrayInputStream(bytes));
+            long loadNanos = System.nanoTime() - start;
+            System.out.printf("round %d: track by track %6.1f ms, image %6.1f ms (%d/%d playlists)%n",
+                    round, buildNanos / 1e6, loadNanos / 1e6, built.size(), loaded.size());
+        }
+    }
+
+    private static String defaultPlaylists(int playlists, int tracksPerPlaylist) {
+        StringBuilder tsv = new StringBuilder();
+        for (int p = 0; p < playlists; p++) {
+            for (int t = 0; t < tracksPerPlaylist; t++) {
+                int id = (p * 31 + t * 17) % 20_000;
+                tsv.append("Editorial ").append(p).append('\t')
+                        .append("Song ").append(id).append('\t')
+                        .append("Artist ").append(id % 1000).append('\t')
+                        .append(120 + id % 300).append('\n');
+            }
+        }
+        return tsv.toString();
+    }
+}
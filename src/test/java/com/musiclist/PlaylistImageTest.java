@@ -0,0 +1,166 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaylistImageTest {
+
+    private Track track1;
+    private Track track2;
+    private Track track3;
+
+    @BeforeEach
+    void setUp() {
+        track1 = new Track("Bohemian Rhapsody", "Queen", 354);
+        track2 = new Track("Imagine", "John Lennon", 187);
+        track3 = new Track("Yesterday", "The Beatles", 125);
+    }
+
+    private static byte[] image(List<Playlist> playlists) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PlaylistImage.write(playlists, out);
+        return out.toByteArray();
+    }
+
+    private static List<Track> contents(Playlist playlist) {
+        List<Track> tracks = new ArrayList<>();
+        for (Track track : playlist) {
+            tracks.add(track);
+        }
+        return tracks;
+    }
+
+    // -------------------------------------------------------------------------
+    // write and read
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testRoundTrip() throws IOException {
+        Playlist rock = new Playlist("Rock");
+        rock.addTrack(track1);
+        rock.addTrack(track3);
+        Playlist mixed = new Playlist("Mixed ♫");
+        mixed.addTrack(track2);
+        mixed.addTrack(track1);
+        mixed.addTrack(track2);
+
+        List<Playlist> loaded = PlaylistImage.read(new ByteArrayInputStream(image(List.of(rock, mixed))));
+        assertEquals(2, loaded.size());
+        assertEquals("Rock", loaded.get(0).getName());
+        assertEquals(List.of(track1, track3), contents(loaded.get(0)));
+        assertEquals("Mixed ♫", loaded.get(1).getName());
+        assertEquals(List.of(track2, track1, track2), contents(loaded.get(1)));
+        assertEquals(rock.getTotalDuration(), loaded.get(0).getTotalDuration());
+    }
+
+    @Test
+    void testLoadedPlaylistsAreUsable() throws IOException {
+        Playlist playlist = new Playlist("Rock");
+        playlist.addTrack(track1);
+        Playlist loaded = PlaylistImage.read(new ByteArrayInputStream(image(List.of(playlist)))).get(0);
+        loaded.addTrack(track2);
+        assertEquals(List.of(track1, track2), contents(loaded));
+        loaded.removeTrackAtIndex(1);
+        assertEquals(1, loaded.size());
+    }
+
+    @Test
+    void testEqualTracksAreShared() throws IOException {
+        Playlist first = new Playlist("First");
+        first.addTrack(track1);
+        Playlist second = new Playlist("Second");
+        second.addTrack(new Track("Bohemian Rhapsody", "Queen", 354));
+        List<Playlist> loaded = PlaylistImage.read(new ByteArrayInputStream(image(List.of(first, second))));
+        assertSame(loaded.get(0).getTrack(0), loaded.get(1).getTrack(0));
+    }
+
+    @Test
+    void testTracksDifferingOnlyInDurationAreKept() throws IOException {
+        Playlist playlist = new Playlist("Versions");
+        playlist.addTrack(track1);
+        playlist.addTrack(new Track("Bohemian Rhapsody", "Queen", 360));
+        Playlist loaded = PlaylistImage.read(new ByteArrayInputStream(image(List.of(playlist)))).get(0);
+        assertEquals(354, loaded.getTrack(0).getDurationInSeconds());
+        assertEquals(360, loaded.getTrack(1).getDurationInSeconds());
+    }
+
+    @Test
+    void testEmptyAndUnnamedPlaylists() throws IOException {
+        List<Playlist> loaded = PlaylistImage.read(new ByteArrayInputStream(
+                image(List.of(new Playlist(null), new Playlist("Empty")))));
+        assertNull(loaded.get(0).getName());
+        assertTrue(loaded.get(1).isEmpty());
+    }
+
+    @Test
+    void testWriteNullPlaylistsThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PlaylistImage.write(null, new ByteArrayOutputStream()));
+        assertThrows(IllegalArgumentException.class,
+                () -> PlaylistImage.write(Arrays.asList((Playlist) null), new ByteArrayOutputStream()));
+    }
+
+    // -------------------------------------------------------------------------
+    // Corruption
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testCorruptedImageIsRejected() throws IOException {
+        Playlist playlist = new Playlist("Rock");
+        playlist.addTrack(track1);
+        byte[] image = image(List.of(playlist));
+        image[image.length / 2] ^= 1;
+        assertThrows(IOException.class, () -> PlaylistImage.read(new ByteArrayInputStream(image)));
+    }
+
+    @Test
+    void testWrongMagicOrVersionIsRejected() throws IOException {
+        byte[] image = image(List.of(new Playlist("Rock")));
+        byte[] wrongMagic = image.clone();
+        wrongMagic[0] = 0;
+        assertThrows(IOException.class, () -> PlaylistImage.read(new ByteArrayInputStream(wrongMagic)));
+        byte[] wrongVersion = image.clone();
+        wrongVersion[7] = 9;
+        assertThrows(IOException.class, () -> PlaylistImage.read(new ByteArrayInputStream(wrongVersion)));
+        assertThrows(IOException.class, () -> PlaylistImage.read(new ByteArrayInputStream(new byte[3])));
+    }
+
+    // -------------------------------------------------------------------------
+    // TSV input
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testParseTsvGroupsByPlaylist() throws IOException {
+        String tsv = "# playlist\ttitle\tartist\tduration\n"
+                + "Rock\tBohemian Rhapsody\tQueen\t354\n"
+                + "Pop\tImagine\tJohn Lennon\t187\n"
+                + "\n"
+                + "Rock\tYesterday\tThe Beatles\t125\n";
+        List<Playlist> playlists = PlaylistImage.parseTsv(new BufferedReader(new StringReader(tsv)));
+        assertEquals(2, playlists.size());
+        assertEquals("Rock", playlists.get(0).getName());
+        assertEquals(List.of(track1, track3), contents(playlists.get(0)));
+        assertEquals(List.of(track2), contents(playlists.get(1)));
+    }
+
+    @Test
+    void testParseTsvRejectsInvalidLines() {
+        assertThrows(IllegalArgumentException.class, () -> PlaylistImage.parseTsv(
+                new BufferedReader(new StringReader("Rock\tBohemian Rhapsody\tQueen\n"))));
+        assertThrows(IllegalArgumentException.class, () -> PlaylistImage.parseTsv(
+                new BufferedReader(new StringReader("Rock\tBohemian Rhapsody\tQueen\tlong\n"))));
+        assertThrows(IllegalArgumentException.class, () -> PlaylistImage.parseTsv(
+                new BufferedReader(new StringReader("Rock\t\tQueen\t354\n"))));
+    }
+}
@@ -0,0 +1,156 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaylistMetricsTest {
+
+    private Playlist playlist;
+    private PlaylistMetrics metrics;
+    private Track track1;
+    private Track track2;
+    private Track track3;
+
+    @BeforeEach
+    void setUp() {
+        playlist = new Playlist("Measured");
+        metrics = new PlaylistMetrics();
+        track1 = new Track("Bohemian Rhapsody", "Queen", 354);
+        track2 = new Track("Imagine", "John Lennon", 187);
+        track3 = new Track("Yesterday", "The Beatles", 125);
+    }
+
+    // -------------------------------------------------------------------------
+    // Recording through Playlist
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testNoMetricsByDefault() {
+        assertNull(playlist.getMetrics());
+        playlist.addTrack(track1);
+        assertEquals(0, metrics.getCalls(PlaylistMetrics.Operation.ADD_TRACK));
+    }
+
+    @Test
+    void testAddTrackAppendsWithoutTraversal() {
+        playlist.setMetrics(metrics);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        assertEquals(3, metrics.getCalls(PlaylistMetrics.Operation.ADD_TRACK));
+        assertEquals(0, metrics.getNodesTraversed(PlaylistMetrics.Operation.ADD_TRACK));
+        assertEquals(0.0, metrics.getMeanNodesPerCall(PlaylistMetrics.Operation.ADD_TRACK));
+    }
+
+    @Test
+    void testLookupsRecordNodesTraversed() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        playlist.setMetrics(metrics);
+
+        playlist.getTrack(2);
+        playlist.indexOf(track2);
+        playlist.indexOf(new Track("Missing", "Nobody", 1));
+        playlist.getTotalDuration();
+
+        assertEquals(3, metrics.getNodesTraversed(PlaylistMetrics.Operation.GET_TRACK));
+        assertEquals(2 + 3, metrics.getNodesTraversed(PlaylistMetrics.Operation.INDEX_OF));
+        assertEquals(2, metrics.getCalls(PlaylistMetrics.Operation.INDEX_OF));
+        assertEquals(3, metrics.getNodesTraversed(PlaylistMetrics.Operation.TOTAL_DURATION));
+    }
+
+    @Test
+    void testRemoveTrackRecordsCalls() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.setMetrics(metrics);
+        assertTrue(playlist.removeTrack(track2));
+        assertFalse(playlist.removeTrack(track3));
+        assertEquals(2, metrics.getCalls(PlaylistMetrics.Operation.REMOVE_TRACK));
+        assertEquals(2 + 1, metrics.getNodesTraversed(PlaylistMetrics.Operation.REMOVE_TRACK));
+    }
+
+    @Test
+    void testRenderCacheHitsAndMisses() {
+        playlist.addTrack(track1);
+        playlist.setMetrics(metrics);
+        assertEquals(0.0, metrics.getRenderCacheHitRate());
+        playlist.toString();
+        playlist.toString();
+        playlist.toString();
+        playlist.addTrack(track2);
+        playlist.toString();
+        assertEquals(2, metrics.getRenderCacheHits());
+        assertEquals(2, metrics.getRenderCacheMisses());
+        assertEquals(0.5, metrics.getRenderCacheHitRate());
+        metrics.reset();
+        assertEquals(0, metrics.getRenderCacheHits());
+    }
+
+    @Test
+    void testResetClearsCounters() {
+        playlist.setMetrics(metrics);
+        playlist.addTrack(track1);
+        metrics.reset();
+        assertEquals(0, metrics.getCalls(PlaylistMetrics.Operation.ADD_TRACK));
+        assertEquals(0, metrics.getLatencyPercentileNanos(PlaylistMetrics.Operation.ADD_TRACK, 50));
+    }
+
+    // -------------------------------------------------------------------------
+    // Latency histogram
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testHistogramBucketsRoundTrip() {
+        for (long value : new long[] {0, 1, 7, 8, 15, 16, 17, 1000, 123_456_789L}) {
+            int bucket = PlaylistMetrics.LatencyHistogram.bucketOf(value);
+            long upper = PlaylistMetrics.LatencyHistogram.upperBoundOf(bucket);
+            assertTrue(upper >= value, "value " + value);
+            assertTrue(upper <= value + value / 8 + 1, "value " + value);
+        }
+    }
+
+    @Test
+    void testHistogramPercentiles() {
+        PlaylistMetrics.LatencyHistogram histogram = new PlaylistMetrics.LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i * 1000L);
+        }
+        long median = histogram.percentile(50);
+        assertTrue(median >= 50_000 && median <= 57_000, "median " + median);
+        long max = histogram.percentile(100);
+        assertTrue(max >= 100_000 && max <= 113_000, "max " + max);
+    }
+
+    @Test
+    void testInvalidPercentileThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> metrics.getLatencyPercentileNanos(PlaylistMetrics.Operation.GET_TRACK, 101));
+    }
+
+    // -------------------------------------------------------------------------
+    // JMX
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testRegisterMBeanExposesCallCounts() throws Exception {
+        playlist.setMetrics(metrics);
+        playlist.addTrack(track1);
+        ObjectName name = metrics.registerMBean("metrics-test");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            assertTrue(server.isRegistered(name));
+            assertEquals(1L, metrics.getCallCounts().get("ADD_TRACK"));
+            assertNotNull(server.getAttribute(name, "CallCounts"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
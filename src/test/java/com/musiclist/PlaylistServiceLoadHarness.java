@@ -0,0 +1,107 @@
+package com.musiclist;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Offline load test comparing {@link PlaylistService} with the naive setup it replaces: one
+ * platform thread per request from a bounded pool and one lock per playlist.
+ *
+ * <p>Each simulated client request first blocks for a short "network" delay and then performs
+ * a read (80%) or an append (20%) on a random playlist. Not a JUnit test; run it with
+ * {@code java -cp out/main:out/test com.musiclist.PlaylistServiceLoadHarness [requests]}.</p>
+ */
+public class PlaylistServiceLoadHarness {
+
+    private static final int PLAYLISTS = 32;
+    private static final int PLATFORM_THREADS = 200;
+    private static final long NETWORK_DELAY_MICROS = 1_000;
+
+    public static void main(String[] args) throws Exception {
+        int requests = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        System.out.printf("%d requests over %d playlists, %d us simulated network delay%n",
+                requests, PLAYLISTS, NETWORK_DELAY_MICROS);
+        for (int round = 1; round <= 2; round++) {
+            System.out.printf("round %d: locked/platform %,.0f req/s, service/virtual %,.0f req/s%n",
+                    round, runLocked(requests), runService(requests));
+        }
+    }
+
+    private static double runLocked(int requests) throws Exception {
+        List<Playlist> playlists = new ArrayList<>();
+        for (int i = 0; i < PLAYLISTS; i++) {
+            playlists.add(new Playlist("Playlist " + i));
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(PLATFORM_THREADS);
+        long start = System.nanoTime();
+        List<Future<?>> futures = new ArrayList<>(requests);
+        for (int i = 0; i < requests; i++) {
+            futures.add(pool.submit(() -> {
+                simulateNetwork();
+                Playlist playlist = playlists.get(ThreadLocalRandom.current().nextInt(PLAYLISTS));
+                synchronized (playlist) {
+                    if (ThreadLocalRandom.current().nextInt(5) == 0) {
+                        playlist.addTrackAtBeginning(randomTrack());
+                    } else {
+                        playlist.size();
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        pool.shutdown();
+        pool.awaitTermination(1, TimeUnit.MINUTES);
+        return requests / seconds;
+    }
+
+    private static double runService(int requests) throws Exception {
+        try (PlaylistService service = new PlaylistService();
+             ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < PLAYLISTS; i++) {
+                service.createPlaylist("Playlist " + i);
+            }
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                futures.add(clients.submit(() -> {
+                    simulateNetwork();
+                    String name = "Playlist " + ThreadLocalRandom.current().nextInt(PLAYLISTS);
+                    if (ThreadLocalRandom.current().nextInt(5) == 0) {
+                        Track track = randomTrack();
+                        service.submit(name, playlist -> {
+                            playlist.addTrackAtBeginning(track);
+                            return null;
+                        }).join();
+                    } else {
+                        service.snapshot(name).size();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            return requests / ((System.nanoTime() - start) / 1e9);
+        }
+    }
+
+    private static void simulateNetwork() {
+        try {
+            TimeUnit.MICROSECONDS.sleep(NETWORK_DELAY_MICROS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Track randomTrack() {
+        int id = ThreadLocalRandom.current().nextInt(1_000_000);
+        return new Track("Song " + id, "Artist " + (id % 1000), 120 + id % 300);
+    }
+}
@@ -0,0 +1,158 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaylistServiceTest {
+
+    private PlaylistService service;
+    private Track track1;
+    private Track track2;
+
+    @BeforeEach
+    void setUp() {
+        service = new PlaylistService();
+        service.createPlaylist("Road Trip");
+        track1 = new Track("Bohemian Rhapsody", "Queen", 354);
+        track2 = new Track("Imagine", "John Lennon", 187);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.close();
+    }
+
+    // -------------------------------------------------------------------------
+    // createPlaylist
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testCreatePlaylist() {
+        assertTrue(service.hasPlaylist("Road Trip"));
+        assertFalse(service.hasPlaylist("Other"));
+        assertTrue(service.snapshot("Road Trip").isEmpty());
+    }
+
+    @Test
+    void testCreateDuplicatePlaylistThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.createPlaylist("Road Trip"));
+    }
+
+    @Test
+    void testUnknownPlaylistThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> service.submit("Other", Playlist::size));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.snapshot("Other"));
+    }
+
+    // -------------------------------------------------------------------------
+    // submit
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testSubmitAppliesOperationAndPublishesSnapshot() throws Exception {
+        service.submit("Road Trip", playlist -> {
+            playlist.addTrack(track1);
+            return null;
+        }).get();
+        assertEquals(List.of(track1), service.snapshot("Road Trip"));
+        assertEquals(1, service.submit("Road Trip", Playlist::size).get());
+    }
+
+    @Test
+    void testFailingOperationCompletesExceptionally() {
+        CompletableFuture<Track> future = service.submit("Road Trip", playlist -> playlist.getTrack(3));
+        ExecutionException e = assertThrows(ExecutionException.class, future::get);
+        assertInstanceOf(IndexOutOfBoundsException.class, e.getCause());
+    }
+
+    @Test
+    void testErrorInOperationDoesNotStallMailbox() throws Exception {
+        CompletableFuture<Object> failing = service.submit("Road Trip", playlist -> {
+            throw new AssertionError("boom");
+        });
+        ExecutionException e = assertThrows(ExecutionException.class, failing::get);
+        assertInstanceOf(AssertionError.class, e.getCause());
+
+        service.submit("Road Trip", playlist -> {
+            playlist.addTrack(track1);
+            return null;
+        }).get();
+        assertEquals(List.of(track1), service.snapshot("Road Trip"));
+    }
+
+    @Test
+    void testReadOnlyOperationsReuseSnapshot() throws Exception {
+        service.submit("Road Trip", playlist -> {
+            playlist.addTrack(track1);
+            return null;
+        }).get();
+        List<Track> before = service.snapshot("Road Trip");
+        assertEquals(1, service.submit("Road Trip", Playlist::size).get());
+        assertSame(before, service.snapshot("Road Trip"));
+
+        service.submit("Road Trip", playlist -> {
+            playlist.addTrack(track2);
+            return null;
+        }).get();
+        assertNotSame(before, service.snapshot("Road Trip"));
+        assertEquals(List.of(track1, track2), service.snapshot("Road Trip"));
+    }
+
+    @Test
+    void testConcurrentWritersAreSerialized() throws Exception {
+        List<CompletableFuture<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Track track = new Track("Song " + i, "Artist", 100);
+            futures.add(service.submit("Road Trip", playlist -> {
+                playlist.addTrack(track);
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get();
+        assertEquals(1000, service.snapshot("Road Trip").size());
+        assertEquals("Song 999", service.snapshot("Road Trip").get(999).getTitle());
+    }
+
+    // -------------------------------------------------------------------------
+    // submitBatch
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testSubmitBatchReturnsResultsInOrder() throws Exception {
+        List<Function<Playlist, ?>> batch = List.of(
+                playlist -> {
+                    playlist.addTrack(track1);
+                    return playlist.size();
+                },
+                playlist -> {
+                    playlist.addTrack(track2);
+                    return playlist.size();
+                },
+                Playlist::getTotalDuration);
+        List<Object> results = service.submitBatch("Road Trip", batch).get();
+        assertEquals(List.of(1, 2, 541), results);
+        assertEquals(List.of(track1, track2), service.snapshot("Road Trip"));
+    }
+
+    @Test
+    void testSnapshotIsImmutable() throws Exception {
+        service.submit("Road Trip", playlist -> {
+            playlist.addTrack(track1);
+            return null;
+        }).get();
+        assertThrows(UnsupportedOperationException.class,
+                () -> service.snapshot("Road Trip").add(track2));
+    }
+}
@@ -0,0 +1,180 @@
+package com.musiclist;
+
+import java.io.PrintStream;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Offline soak test that drives a {@link Playlist} with a {@link PlaylistWorkload} and reports,
+ * per interval, throughput, latency percentiles, heap use and GC activity, so latency cliffs,
+ * GC storms and the overflow of {@link Playlist#getTotalDuration()} show up as the playlist
+ * grows.
+ *
+ * <p>Not a JUnit test; run it with
+ * {@code java -Xmx4g -cp out/main:out/test com.musiclist.PlaylistSoakRunner [key=value ...]}.
+ * Keys and defaults: {@code size=100000} initial tracks, {@code ops=1000000} operations,
+ * {@code seconds=60} time limit, {@code interval=100000} operations per report line,
+ * {@code skew=0} access skew, {@code catalog=100000} distinct tracks, {@code maxDuration=900},
+ * {@code seed=42}, and {@code mix=get:40,append:15,...} operation weights (see
+ * {@link PlaylistWorkload#defaultMix()}).</p>
+ *
+ * <p>{@link #run} writes its report to a given stream, or nowhere if the stream is null, and
+ * returns the figures a caller needs to check the run.</p>
+ */
+public class PlaylistSoakRunner {
+
+    public static void main(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                System.err.println("Arguments must be key=value: " + arg);
+                System.exit(2);
+            }
+            options.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+        int size = Integer.parseInt(options.getOrDefault("size", "100000"));
+        long ops = Long.parseLong(options.getOrDefault("ops", "1000000"));
+        long seconds = Long.parseLong(options.getOrDefault("seconds", "60"));
+        int interval = Integer.parseInt(options.getOrDefault("interval", "100000"));
+        double skew = Double.parseDouble(options.getOrDefault("skew", "0"));
+        int catalog = Integer.parseInt(options.getOrDefault("catalog", "100000"));
+        int maxDuration = Integer.parseInt(options.getOrDefault("maxDuration", "900"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Map<PlaylistWorkload.Operation, Integer> mix = options.containsKey("mix")
+                ? parseMix(options.get("mix")) : PlaylistWorkload.defaultMix();
+
+        PlaylistWorkload workload = new PlaylistWorkload(seed, mix, skew, catalog, maxDuration);
+        Playlist playlist = new Playlist("Soak");
+        long start = System.nanoTime();
+        workload.populate(playlist, size);
+        System.out.printf("populated %,d tracks in %.1f s, mix %s, skew %.2f%n",
+                playlist.size(), (System.nanoTime() - start) / 1e9, mix, skew);
+        run(playlist, workload, ops, seconds, interval, System.out);
+    }
+
+    /**
+     * Applies up to {@code ops} operations, stopping early once {@code seconds} have passed, and
+     * reports every {@code interval} operations.
+     *
+     * @param playlist the playlist to drive
+     * @param workload the workload to draw operations from
+     * @param ops      the maximum number of operations
+     * @param seconds  the time limit
+     * @param interval the number of operations per report line
+     * @param out      the stream to report to, or null to report nothing
+     * @return the figures of the run
+     */
+    static Result run(Playlist playlist, PlaylistWorkload workload, long ops, long seconds, int interval,
+                      PrintStream out) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        printf(out, "%8s %10s %12s %10s %10s %10s %10s %8s %8s%n",
+                "time s", "size", "ops/s", "p50 ns", "p99 ns", "p99.9 ns", "heap MB", "gc", "gc ms");
+        PlaylistMetrics.LatencyHistogram latencies = new PlaylistMetrics.LatencyHistogram();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        long runStart = System.nanoTime();
+        long intervalStart = runStart;
+        long[] gcBefore = gcTotals();
+        long done = 0;
+        int intervals = 0;
+        int overflowSize = -1;
+        while (done < ops) {
+            done++;
+            PlaylistWorkload.Operation operation = workload.nextOperation();
+            long opStart = System.nanoTime();
+            workload.apply(playlist, operation);
+            long now = System.nanoTime();
+            latencies.record(now - opStart);
+            if (done % interval == 0 || done == ops || now >= deadline) {
+                long[] gc = gcTotals();
+                long count = done % interval == 0 ? interval : done % interval;
+                intervals++;
+                printf(out, "%8.1f %,10d %,12.0f %,10d %,10d %,10d %,10d %8d %8d%n",
+                        (now - runStart) / 1e9, playlist.size(), count / ((now - intervalStart) / 1e9),
+                        latencies.percentile(50.0), latencies.percentile(99.0), latencies.percentile(99.9),
+                        memory.getHeapMemoryUsage().getUsed() >> 20, gc[0] - gcBefore[0], gc[1] - gcBefore[1]);
+                if (overflowSize < 0 && workload.totalDurationOverflowed(playlist)) {
+                    overflowSize = playlist.size();
+                    printf(out, "getTotalDuration overflowed at %,d tracks: reported %,d, exact %,d%n",
+                            playlist.size(), playlist.getTotalDuration(), workload.getExpectedTotalDuration());
+                }
+                latencies.reset();
+                gcBefore = gc;
+                intervalStart = System.nanoTime();
+                if (now >= deadline) {
+                    printf(out, "time limit reached after %,d operations%n", done);
+                    break;
+                }
+            }
+        }
+        printf(out, "done, checksum %d%n", workload.getChecksum());
+        return new Result(done, intervals, overflowSize, workload.getChecksum());
+    }
+
+    private static void printf(PrintStream out, String format, Object... args) {
+        if (out != null) {
+            out.printf(format, args);
+        }
+    }
+
+    private static Map<PlaylistWorkload.Operation, Integer> parseMix(String spec) {
+        Map<PlaylistWorkload.Operation, Integer> mix = new EnumMap<>(PlaylistWorkload.Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split(":");
+            mix.put(PlaylistWorkload.Operation.valueOf(pair[0].trim().toUpperCase(Locale.ROOT)),
+                    Integer.parseInt(pair[1].trim()));
+        }
+        return mix;
+    }
+
+    /**
+     * The figures of one soak run.
+     */
+    static final class Result {
+        private final long operations;
+        private final int intervals;
+        private final int overflowSize;
+        private final long checksum;
+
+        Result(long operations, int intervals, int overflowSize, long checksum) {
+            this.operations = operations;
+            this.intervals = intervals;
+            this.overflowSize = overflowSize;
+            this.checksum = checksum;
+        }
+
+        /** Returns the number of operations performed, less than requested if the time ran out. */
+        long getOperations() {
+            return operations;
+        }
+
+        /** Returns the number of report lines, one per interval plus a final partial one. */
+        int getIntervals() {
+            return intervals;
+        }
+
+        /** Returns the playlist size at which the total duration was first seen overflowed, or -1. */
+        int getOverflowSize() {
+            return overflowSize;
+        }
+
+        long getChecksum() {
+            return checksum;
+        }
+    }
+
+    /** Returns the total collection count and time in milliseconds over all collectors. */
+    private static long[] gcTotals() {
+        long[] totals = new long[2];
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            totals[0] += Math.max(0, gc.getCollectionCount());
+            totals[1] += Math.max(0, gc.getCollectionTime());
+        }
+        return totals;
+    }
+}
@@ -0,0 +1,284 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.HashSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaylistStatisticsTest {
+
+    private Playlist playlist;
+    private Track track1;
+    private Track track2;
+    private Track track3;
+    private Track track4;
+
+    @BeforeEach
+    void setUp() {
+        playlist = new Playlist("Stats");
+        track1 = new Track("Bohemian Rhapsody", "Queen", 354);
+        track2 = new Track("Imagine", "John Lennon", 187);
+        track3 = new Track("Yesterday", "The Beatles", 125);
+        track4 = new Track("Hey Jude", "The Beatles", 431);
+    }
+
+    // -------------------------------------------------------------------------
+    // of
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testEmptyStatistics() {
+        PlaylistStatistics statistics = PlaylistStatistics.of(playlist);
+        assertEquals(0, statistics.getTrackCount());
+        assertEquals(0, statistics.getTotalDuration());
+        assertEquals(0, statistics.getArtistCount());
+        assertEquals(0, statistics.getShortestDuration());
+        assertEquals(0.0, statistics.getMedianDuration());
+    }
+
+    @Test
+    void testSinglePassAggregates() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        playlist.addTrack(track4);
+        PlaylistStatistics statistics = PlaylistStatistics.of(playlist);
+        assertEquals(4, statistics.getTrackCount());
+        assertEquals(1097, statistics.getTotalDuration());
+        assertEquals(3, statistics.getArtistCount());
+        assertEquals(2, statistics.getArtistTrackCount("The Beatles"));
+        assertEquals(556, statistics.getArtistTotalDuration("The Beatles"));
+        assertEquals(0, statistics.getArtistTrackCount("Nobody"));
+        assertEquals(Set.of("Queen", "John Lennon", "The Beatles"), new HashSet<>(statistics.getArtists()));
+        assertEquals(125, statistics.getShortestDuration());
+        assertEquals(431, statistics.getLongestDuration());
+        assertEquals((187 + 354) / 2.0, statistics.getMedianDuration());
+        assertEquals(187, statistics.getDurationPercentile(50));
+    }
+
+    @Test
+    void testManyArtistsAndDurations() {
+        for (int i = 0; i < 1001; i++) {
+            playlist.addTrack(new Track("Song " + i, "Artist " + (i % 100), 1 + i));
+        }
+        PlaylistStatistics statistics = PlaylistStatistics.of(playlist);
+        assertEquals(100, statistics.getArtistCount());
+        assertEquals(11, statistics.getArtistTrackCount("Artist 0"));
+        assertEquals(501.0, statistics.getMedianDuration());
+        assertEquals(991, statistics.getDurationPercentile(99));
+    }
+
+    @Test
+    void testNullPlaylistThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PlaylistStatistics.of(null));
+    }
+
+    @Test
+    void testInvalidPercentileThrowsException() {
+        PlaylistStatistics statistics = new PlaylistStatistics();
+        assertThrows(IllegalArgumentException.class,
+                () -> statistics.getDurationPercentile(-1));
+    }
+
+    // -------------------------------------------------------------------------
+    // combine
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testCombineAcrossPlaylists() {
+        Playlist other = new Playlist("Other");
+        playlist.addTrack(track1);
+        playlist.addTrack(track3);
+        other.addTrack(track2);
+        other.addTrack(track4);
+        PlaylistStatistics combined = PlaylistStatistics.ofAll(List.of(playlist, other));
+        assertEquals(4, combined.getTrackCount());
+        assertEquals(2, combined.getArtistTrackCount("The Beatles"));
+        assertEquals(431, combined.getLongestDuration());
+    }
+
+    // -------------------------------------------------------------------------
+    // Incremental maintenance
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testListenerKeepsStatisticsUpToDate() {
+        PlaylistStatistics statistics = new PlaylistStatistics();
+        playlist.addListener(statistics);
+        playlist.addTrack(track1);
+        playlist.addTrack(track3);
+        playlist.addTrack(track4);
+        playlist.removeTrack(track3);
+        assertEquals(2, statistics.getTrackCount());
+        assertEquals(1, statistics.getArtistTrackCount("The Beatles"));
+        assertEquals(2, statistics.getArtistCount());
+        assertEquals(354, statistics.getShortestDuration());
+
+        playlist.removeTrack(track4);
+        assertEquals(1, statistics.getArtistCount());
+        assertEquals(0, statistics.getArtistTrackCount("The Beatles"));
+    }
+
+    @Test
+    void testListenerHandlesClearAndUndo() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        PlaylistStatistics statistics = PlaylistStatistics.of(playlist);
+        playlist.addListener(statistics);
+        PlaylistHistory history = PlaylistHistory.attach(playlist, 4);
+        playlist.clear();
+        assertEquals(0, statistics.getTrackCount());
+        history.undo();
+        assertEquals(2, statistics.getTrackCount());
+        assertEquals(541, statistics.getTotalDuration());
+    }
+
+    @Test
+    void testClearUncountsOnlyTheClearedPlaylist() {
+        Playlist other = new Playlist("Other");
+        PlaylistStatistics statistics = new PlaylistStatistics();
+        playlist.addListener(statistics);
+        other.addListener(statistics);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        other.addTrack(track3);
+        other.addTrack(track4);
+        other.clear();
+        assertEquals(2, statistics.getTrackCount());
+        assertEquals(541, statistics.getTotalDuration());
+        assertEquals(0, statistics.getArtistTrackCount("The Beatles"));
+    }
+
+    @Test
+    void testAppendAllBetweenListenedPlaylistsKeepsCounts() {
+        Playlist other = new Playlist("Other");
+        PlaylistStatistics statistics = new PlaylistStatistics();
+        playlist.addListener(statistics);
+        other.addListener(statistics);
+        playlist.addTrack(track1);
+        other.addTrack(track3);
+        other.addTrack(track4);
+        playlist.appendAll(other);
+        assertEquals(3, statistics.getTrackCount());
+        assertEquals(910, statistics.getTotalDuration());
+        assertEquals(2, statistics.getArtistTrackCount("The Beatles"));
+    }
+
+    @Test
+    void testRemovingUncountedTrackIsIgnored() {
+        PlaylistStatistics statistics = new PlaylistStatistics();
+        statistics.add(track1);
+        assertFalse(statistics.remove(track2));
+        assertFalse(statistics.remove(new Track("Bohemian Rhapsody", "Queen", 355)));
+        assertEquals(1, statistics.getTrackCount());
+        assertTrue(statistics.remove(track1));
+        assertEquals(0, statistics.getTrackCount());
+    }
+
+    // -------------------------------------------------------------------------
+    // Shortest and longest tracks
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testShortestAndLongestTracks() {
+        PlaylistStatistics statistics = new PlaylistStatistics();
+        assertNull(statistics.getShortestTrack());
+        assertNull(statistics.getLongestTrack());
+        statistics.add(track1);
+        statistics.add(track2);
+        statistics.add(track3);
+        statistics.add(track4);
+        assertSame(track3, statistics.getShortestTrack());
+        assertSame(track4, statistics.getLongestTrack());
+
+        statistics.remove(track3);
+        statistics.remove(track4);
+        assertSame(track2, statistics.getShortestTrack());
+        assertSame(track1, statistics.getLongestTrack());
+    }
+
+    @Test
+    void testShortestTrackFollowsRemovalAmongEqualDurations() {
+        Track other = new Track("Let It Be", "The Beatles", 125);
+        PlaylistStatistics statistics = new PlaylistStatistics();
+        statistics.add(track3);
+        statistics.add(other);
+        assertSame(track3, statistics.getShortestTrack());
+        statistics.remove(track3);
+        assertSame(other, statistics.getShortestTrack());
+    }
+
+    @Test
+    void testRandomAddsAndRemovesMatchFreshStatistics() {
+        Random random = new Random(5);
+        Playlist reference = new Playlist("Reference");
+        PlaylistStatistics statistics = new PlaylistStatistics();
+        reference.addListener(statistics);
+        for (int step = 0; step < 20_000; step++) {
+            if (reference.isEmpty() || random.nextInt(5) < 3) {
+                int n = random.nextInt(500);
+                reference.addTrack(new Track("Song " + n, "Artist " + n % 13, 100 + n % 7));
+            } else {
+                reference.removeTrackAtIndex(random.nextInt(reference.size()));
+            }
+        }
+        PlaylistStatistics fresh = PlaylistStatistics.of(reference);
+        assertEquals(fresh.getTrackCount(), statistics.getTrackCount());
+        assertEquals(fresh.getTotalDuration(), statistics.getTotalDuration());
+        assertEquals(fresh.getMedianDuration(), statistics.getMedianDuration());
+        assertEquals(fresh.getShortestDuration(), statistics.getShortestTrack().getDurationInSeconds());
+        assertEquals(fresh.getLongestDuration(), statistics.getLongestTrack().getDurationInSeconds());
+        assertTrue(reference.contains(statistics.getShortestTrack()));
+        reference.removeListener(statistics);
+        for (int i = reference.size() - 1; i >= 0; i--) {
+            assertTrue(statistics.remove(reference.removeTrackAtIndex(i)));
+        }
+        assertEquals(0, statistics.getTrackCount());
+        assertNull(statistics.getLongestTrack());
+    }
+
+    @Test
+    void testCombineKeepsTracks() {
+        playlist.addTrack(track1);
+        Playlist other = new Playlist("Other");
+        other.addTrack(track3);
+        PlaylistStatistics statistics = PlaylistStatistics.of(playlist).combine(PlaylistStatistics.of(other));
+        assertSame(track3, statistics.getShortestTrack());
+        assertTrue(statistics.remove(track3));
+        assertSame(track1, statistics.getShortestTrack());
+    }
+
+    @Test
+    void testCombineWithItselfDoublesCounts() {
+        PlaylistStatistics statistics = new PlaylistStatistics();
+        statistics.add(track1);
+        statistics.add(track2);
+        statistics.combine(statistics);
+        assertEquals(4, statistics.getTrackCount());
+        assertEquals(187, statistics.getDurationPercentile(50));
+    }
+
+    @Test
+    void testPercentilesFollowAddAndRemove() {
+        PlaylistStatistics statistics = new PlaylistStatistics();
+        for (int i = 1; i <= 100; i++) {
+            statistics.add(new Track("Song " + i, "Artist", i));
+        }
+        assertEquals(50, statistics.getDurationPercentile(50));
+        assertEquals(100, statistics.getLongestDuration());
+        for (int i = 1; i <= 50; i++) {
+            statistics.remove(new Track("Song " + i, "Artist", i));
+        }
+        assertEquals(75, statistics.getDurationPercentile(50));
+        assertEquals(51, statistics.getShortestDuration());
+        statistics.add(new Track("Short", "Artist", 1));
+        assertEquals(1, statistics.getShortestDuration());
+        assertEquals(75, statistics.getDurationPercentile(50));
+    }
+}
@@ -3,6 +3,14 @@ package com.musiclist;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PlaylistTest {
@@ -413,6 +421,34 @@ class PlaylistTest {
         assertTrue(result.contains("Imagine"));
     }
 
+    @Test
+    void testToStringIsCachedUntilModified() {
+        playlist.addTrack(track1);
+        String first = playlist.toString();
+        assertSame(first, playlist.toString());
+
+        playlist.addTrack(track2);
+        String second = playlist.toString();
+        assertNotSame(first, second);
+        assertTrue(second.contains("Imagine"));
+
+        playlist.swap(0, 1);
+        String swapped = playlist.toString();
+        assertTrue(swapped.indexOf("Imagine") < swapped.indexOf("Bohemian Rhapsody"));
+    }
+
+    @Test
+    void testLongListingIsNotCached() {
+        String title = "x".repeat(10_000);
+        for (int i = 0; i <= Playlist.RENDER_CACHE_MAX_CHARS / title.length(); i++) {
+            playlist.addTrack(new Track(title, "Artist", 100));
+        }
+        String first = playlist.toString();
+        assertTrue(first.length() > Playlist.RENDER_CACHE_MAX_CHARS);
+        assertNotSame(first, playlist.toString());
+        assertEquals(first, playlist.toString());
+    }
+
     @Test
     void testToStringEmptyPlaylist() {
         String result = playlist.toString();
@@ -445,4 +481,514 @@ class PlaylistTest {
         playlist.addTrackAtIndex(1, track2);
         assertEquals(track2, playlist.getTrack(1));
     }
+
+    // -------------------------------------------------------------------------
+    // Listeners
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testListenerReceivesInsertEvents() {
+        List<PlaylistEvent> events = new ArrayList<>();
+        playlist.addListener(events::add);
+        playlist.addTrack(track1);
+        playlist.addTrackAtBeginning(track2);
+        playlist.addTrackAtIndex(1, track3);
+        assertEquals(3, events.size());
+        assertEquals(PlaylistEvent.Type.INSERTED, events.get(0).getType());
+        assertEquals(0, events.get(0).getIndex());
+        assertEquals(track1, events.get(0).getTrack());
+        assertEquals(0, events.get(1).getIndex());
+        assertEquals(track2, events.get(1).getTrack());
+        assertEquals(1, events.get(2).getIndex());
+        assertEquals(track3, events.get(2).getTrack());
+        assertSame(playlist, events.get(2).getPlaylist());
+    }
+
+    @Test
+    void testListenerReceivesRemoveEvents() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        List<PlaylistEvent> events = new ArrayList<>();
+        playlist.addListener(events::add);
+        playlist.removeTrack(track2);
+        playlist.removeTrackAtIndex(1);
+        assertEquals(2, events.size());
+        assertEquals(PlaylistEvent.Type.REMOVED, events.get(0).getType());
+        assertEquals(1, events.get(0).getIndex());
+        assertEquals(track2, events.get(0).getTrack());
+        assertEquals(1, events.get(1).getIndex());
+        assertEquals(track3, events.get(1).getTrack());
+    }
+
+    @Test
+    void testListenerNotNotifiedWhenNothingRemoved() {
+        playlist.addTrack(track1);
+        List<PlaylistEvent> events = new ArrayList<>();
+        playlist.addListener(events::add);
+        playlist.removeTrack(track2);
+        assertTrue(events.isEmpty());
+    }
+
+    @Test
+    void testListenerReceivesClearEvent() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        List<PlaylistEvent> events = new ArrayList<>();
+        playlist.addListener(events::add);
+        playlist.clear();
+        playlist.clear();
+        assertEquals(1, events.size());
+        assertEquals(PlaylistEvent.Type.CLEARED, events.get(0).getType());
+        assertEquals(2, events.get(0).getCount());
+        assertNull(events.get(0).getTrack());
+    }
+
+    @Test
+    void testRemovedListenerIsNotNotified() {
+        List<PlaylistEvent> events = new ArrayList<>();
+        PlaylistListener listener = events::add;
+        playlist.addListener(listener);
+        assertTrue(playlist.removeListener(listener));
+        playlist.addTrack(track1);
+        assertTrue(events.isEmpty());
+        assertFalse(playlist.removeListener(listener));
+    }
+
+    @Test
+    void testAddNullListenerThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> playlist.addListener(null));
+    }
+
+    // -------------------------------------------------------------------------
+    // iterator
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testIteratorVisitsTracksInOrder() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        List<Track> visited = new ArrayList<>();
+        for (Track track : playlist) {
+            visited.add(track);
+        }
+        assertEquals(List.of(track1, track2, track3), visited);
+    }
+
+    @Test
+    void testIteratorOnEmptyListThrowsWhenExhausted() {
+        assertFalse(playlist.iterator().hasNext());
+        assertThrows(NoSuchElementException.class,
+                () -> playlist.iterator().next());
+    }
+
+    // -------------------------------------------------------------------------
+    // Duplicates
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testCountDuplicates() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(new Track("Bohemian Rhapsody", "Queen", 300));
+        playlist.addTrack(track1);
+        assertEquals(2, playlist.countDuplicates());
+        assertEquals(4, playlist.size());
+    }
+
+    @Test
+    void testCountDuplicatesOnEmptyList() {
+        assertEquals(0, playlist.countDuplicates());
+    }
+
+    @Test
+    void testRemoveDuplicatesKeepsFirstOccurrence() {
+        Track shorterQueen = new Track("Bohemian Rhapsody", "Queen", 300);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(shorterQueen);
+        playlist.addTrack(track3);
+        playlist.addTrack(track2);
+        assertEquals(2, playlist.removeDuplicates());
+        assertEquals(3, playlist.size());
+        assertEquals(354, playlist.getTrack(0).getDurationInSeconds());
+        assertEquals(track2, playlist.getTrack(1));
+        assertEquals(track3, playlist.getTrack(2));
+    }
+
+    @Test
+    void testRemoveDuplicatesKeepLastKeepsLastOccurrence() {
+        Track shorterQueen = new Track("Bohemian Rhapsody", "Queen", 300);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(shorterQueen);
+        playlist.addTrack(track3);
+        playlist.addTrack(track2);
+        assertEquals(2, playlist.removeDuplicatesKeepLast());
+        assertEquals(3, playlist.size());
+        assertEquals(300, playlist.getTrack(0).getDurationInSeconds());
+        assertEquals(track3, playlist.getTrack(1));
+        assertEquals(track2, playlist.getTrack(2));
+    }
+
+    @Test
+    void testRemoveDuplicatesFiresRemoveEvents() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track1);
+        List<PlaylistEvent> events = new ArrayList<>();
+        playlist.addListener(events::add);
+        playlist.removeDuplicates();
+        assertEquals(2, events.size());
+        assertEquals(1, events.get(0).getIndex());
+        assertEquals(2, events.get(1).getIndex());
+    }
+
+    @Test
+    void testRemoveDuplicatesWithoutDuplicates() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        assertEquals(0, playlist.removeDuplicates());
+        assertEquals(0, playlist.removeDuplicatesKeepLast());
+        assertEquals(2, playlist.size());
+    }
+
+    @Test
+    void testEstimateDuplicatesNeverUndercounts() {
+        for (int i = 0; i < 1000; i++) {
+            playlist.addTrack(new Track("Song " + (i % 700), "Artist", 100));
+        }
+        int estimate = playlist.estimateDuplicates(0.01);
+        assertTrue(estimate >= 300);
+        assertTrue(estimate < 340);
+    }
+
+    // -------------------------------------------------------------------------
+    // removeIf and tail maintenance
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testRemoveIfRemovesMatchingTracks() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.addTrack(track3);
+        assertEquals(2, playlist.removeIf(track -> track.getDurationInSeconds() < 200));
+        assertEquals(1, playlist.size());
+        assertEquals(track1, playlist.getTrack(0));
+    }
+
+    @Test
+    void testRemoveIfNullThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> playlist.removeIf(null));
+    }
+
+    @Test
+    void testAddTrackAfterRemovingLastTrack() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        playlist.removeTrackAtIndex(1);
+        playlist.addTrack(track3);
+        playlist.removeTrack(track3);
+        playlist.addTrack(track2);
+        assertEquals(2, playlist.size());
+        assertEquals(track1, playlist.getTrack(0));
+        assertEquals(track2, playlist.getTrack(1));
+    }
+
+    // -------------------------------------------------------------------------
+    // spreadShuffle
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testSpreadShuffleKeepsAllTracks() {
+        List<Track> original = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Track track = new Track("Song " + i, "Artist " + (i % 4), 100 + i);
+            original.add(track);
+            playlist.addTrack(track);
+        }
+        playlist.spreadShuffle(new Random(1));
+        List<Track> shuffled = new ArrayList<>();
+        playlist.forEach(shuffled::add);
+        assertEquals(50, playlist.size());
+        assertTrue(shuffled.containsAll(original));
+        assertNotEquals(original, shuffled);
+        assertEquals(shuffled.get(49), playlist.getTrack(49));
+        playlist.addTrack(track1);
+        assertEquals(track1, playlist.getTrack(50));
+    }
+
+    @Test
+    void testSpreadShuffleSeparatesSameArtist() {
+        for (long seed = 0; seed < 20; seed++) {
+            Playlist mixed = new Playlist("Mixed");
+            for (int i = 0; i < 10; i++) {
+                mixed.addTrack(new Track("A" + i, "Alpha", 100));
+            }
+            for (int i = 0; i < 10; i++) {
+                mixed.addTrack(new Track("B" + i, "Beta", 100));
+            }
+            mixed.spreadShuffle(new Random(seed));
+            int run = 0;
+            String previousArtist = null;
+            for (Track track : mixed) {
+                run = track.getArtist().equals(previousArtist) ? run + 1 : 1;
+                previousArtist = track.getArtist();
+                assertTrue(run <= 2, "seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    void testSpreadShuffleFiresReorderedEvent() {
+        playlist.addTrack(track1);
+        playlist.addTrack(track2);
+        List<PlaylistEvent> events = new ArrayList<>();
+        playlist.addListener(events::add);
+        playlist.spreadShuffle(new Random(0));
+        assertEquals(1, events.size());
+        assertEquals(PlaylistEvent.Type.REORDERED, events.get(0).getType());
+        assertEquals(2, events.get(0).getCount());
+    }
+
+    @Test
+    void testSpreadShuffleNullRandomThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> playlist.spreadShuffle(null));
+    }
+
+    // -------------------------------------------------------------------------
+    // moveTrack, moveRange and swap
+    // -------------------------------------------------------------------------
+
+    private Playlist numbered(int n) {
+        Playlist numbered = new Playlist("Numbered");
+        for (int i = 0; i < n; i++) {
+            numbered.addTrack(new Track("Song " + i, "Artist", 100 + i));
+        }
+        return numbered;
+    }
+
+    private static List<Integer> order(Playlist playlist) {
+        List<Integer> order = new ArrayList<>();
+        for (Track track : playlist) {
+            order.add(track.getDurationInSeconds() - 100);
+        }
+        return order;
+    }
+
+    @Test
+    void testMoveTrackForwardAndBackward() {
+        Playlist numbered = numbered(5);
+        numbered.moveTrack(0, 3);
+        assertEquals(List.of(1, 2, 3, 0, 4), order(numbered));
+        numbered.moveTrack(4, 0);
+        assertEquals(List.of(4, 1, 2, 3, 0), order(numbered));
+    }
+
+    @Test
+    void testMoveRangeMatchesRemoveAndInsert() {
+        Random random = new Random(7);
+        for (int round = 0; round < 500; round++) {
+            int n = 1 + random.nextInt(8);
+            int count = random.nextInt(n + 1);
+            int from = random.nextInt(n - count + 1);
+            int to = random.nextInt(n - count + 1);
+            Playlist numbered = numbered(n);
+            List<Integer> expected = order(numbered);
+            List<Integer> moved = new ArrayList<>(expected.subList(from, from + count));
+            expected.subList(from, from + count).clear();
+            expected.addAll(to, moved);
+
+            numbered.moveRange(from, count, to);
+            assertEquals(expected, order(numbered), n + " " + from + " " + count + " " + to);
+            numbered.addTrack(new Track("Tail", "Artist", 99));
+            assertEquals(99, numbered.getTrack(n).getDurationInSeconds());
+        }
+    }
+
+    @Test
+    void testMoveRangeInvalidArgumentsThrowException() {
+        Playlist numbered = numbered(5);
+        assertThrows(IllegalArgumentException.class, () -> numbered.moveRange(0, -1, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> numbered.moveRange(3, 3, 0));
+        assertThrows(IndexOutOfBoundsException.class, () -> numbered.moveRange(0, 2, 4));
+        assertThrows(IndexOutOfBoundsException.class, () -> numbered.moveTrack(-1, 0));
+    }
+
+    @Test
+    void testMoveKeepsNodesAndFiresMovedEvent() {
+        Playlist numbered = numbered(4);
+        List<PlaylistEvent> events = new ArrayList<>();
+        numbered.addListener(events::add);
+        numbered.moveRange(1, 2, 2);
+        assertEquals(List.of(0, 3, 1, 2), order(numbered));
+        assertEquals(1, events.size());
+        assertEquals(PlaylistEvent.Type.MOVED, events.get(0).getType());
+        assertEquals(1, events.get(0).getIndex());
+        assertEquals(2, events.get(0).getCount());
+        assertEquals(2, events.get(0).getToIndex());
+    }
+
+    @Test
+    void testSwapMatchesListSwap() {
+        for (int n = 1; n <= 6; n++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    Playlist numbered = numbered(n);
+                    List<Integer> expected = order(numbered);
+                    Collections.swap(expected, i, j);
+                    numbered.swap(i, j);
+                    assertEquals(expected, order(numbered));
+                    numbered.addTrack(new Track("Tail", "Artist", 99));
+                    assertEquals(99, numbered.getTrack(n).getDurationInSeconds());
+                }
+            }
+        }
+    }
+
+    @Test
+    void testSwapInvalidIndexThrowsException() {
+        Playlist numbered = numbered(3);
+        assertThrows(IndexOutOfBoundsException.class, () -> numbered.swap(0, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> numbered.swap(-1, 0));
+    }
+
+    // -------------------------------------------------------------------------
+    // appendAll, concat and mergeSorted
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testAppendAllMovesTracksAndEmptiesSource() {
+        playlist.addTrack(track1);
+        Playlist other = new Playlist("Other");
+        other.addTrack(track2);
+        other.addTrack(track3);
+        playlist.appendAll(other);
+        assertEquals(List.of(track1, track2, track3), contents(playlist));
+        assertTrue(other.isEmpty());
+        assertFalse(other.iterator().hasNext());
+
+        Track track4 = new Track("Hey Jude", "The Beatles", 431);
+        playlist.addTrack(track4);
+        assertEquals(track4, playlist.getTrack(3));
+        other.addTrack(track1);
+        assertEquals(1, other.size());
+        assertEquals(4, playlist.size());
+    }
+
+    @Test
+    void testAppendAllIntoEmptyPlaylist() {
+        Playlist other = new Playlist("Other");
+        other.addTrack(track1);
+        playlist.appendAll(other);
+        assertEquals(track1, playlist.getTrack(0));
+        playlist.addTrack(track2);
+        assertEquals(List.of(track1, track2), contents(playlist));
+    }
+
+    @Test
+    void testAppendAllFiresSplicedAndCleared() {
+        playlist.addTrack(track1);
+        Playlist other = new Playlist("Other");
+        other.addTrack(track2);
+        other.addTrack(track3);
+        List<PlaylistEvent> targetEvents = new ArrayList<>();
+        List<PlaylistEvent> sourceEvents = new ArrayList<>();
+        playlist.addListener(targetEvents::add);
+        other.addListener(sourceEvents::add);
+        playlist.appendAll(other);
+
+        assertEquals(1, targetEvents.size());
+        assertEquals(PlaylistEvent.Type.SPLICED, targetEvents.get(0).getType());
+        assertEquals(1, targetEvents.get(0).getIndex());
+        assertEquals(2, targetEvents.get(0).getCount());
+        assertEquals(1, sourceEvents.size());
+        assertEquals(PlaylistEvent.Type.CLEARED, sourceEvents.get(0).getType());
+        assertSame(track2, sourceEvents.get(0).getChain().getTrack());
+        assertFalse(sourceEvents.get(0).isRestorable());
+    }
+
+    @Test
+    void testAppendAllInvalidArgumentsThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> playlist.appendAll(null));
+        assertThrows(IllegalArgumentException.class, () -> playlist.appendAll(playlist));
+    }
+
+    @Test
+    void testConcatJoinsPlaylistsInOrder() {
+        Playlist first = new Playlist("First");
+        first.addTrack(track1);
+        Playlist second = new Playlist("Second");
+        second.addTrack(track2);
+        second.addTrack(track3);
+        Playlist joined = Playlist.concat("Joined", List.of(first, new Playlist("Empty"), second));
+        assertEquals("Joined", joined.getName());
+        assertEquals(List.of(track1, track2, track3), contents(joined));
+        assertTrue(first.isEmpty());
+        assertTrue(second.isEmpty());
+        assertEquals(track3, joined.getTrack(2));
+    }
+
+    @Test
+    void testConcatNullPlaylistsThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> Playlist.concat("X", null));
+        assertThrows(IllegalArgumentException.class,
+                () -> Playlist.concat("X", Arrays.asList(playlist, null)));
+    }
+
+    @Test
+    void testMergeSortedProducesSortedStableResult() {
+        Random random = new Random(3);
+        List<Playlist> sources = new ArrayList<>();
+        List<Track> expected = new ArrayList<>();
+        for (int k = 0; k < 5; k++) {
+            List<Track> tracks = new ArrayList<>();
+            for (int i = 0, n = random.nextInt(20); i < n; i++) {
+                tracks.add(new Track("Song " + k + "-" + i, "Artist", 60 + random.nextInt(30)));
+            }
+            tracks.sort(Comparator.comparingInt(Track::getDurationInSeconds));
+            Playlist source = new Playlist("Source " + k);
+            tracks.forEach(source::addTrack);
+            sources.add(source);
+            expected.addAll(tracks);
+        }
+        expected.sort(Comparator.comparingInt(Track::getDurationInSeconds));
+
+        Playlist merged = Playlist.mergeSorted("Merged", sources,
+                Comparator.comparingInt(Track::getDurationInSeconds));
+        assertEquals(expected.size(), merged.size());
+        assertEquals(expected, contents(merged));
+        for (Playlist source : sources) {
+            assertTrue(source.isEmpty());
+        }
+        merged.addTrack(track1);
+        assertEquals(track1, merged.getTrack(expected.size()));
+    }
+
+    @Test
+    void testMergeSortedOfNothingIsEmpty() {
+        Playlist merged = Playlist.mergeSorted("Merged", List.of(), Comparator.comparing(Track::getTitle));
+        assertTrue(merged.isEmpty());
+        merged.addTrack(track1);
+        assertEquals(1, merged.size());
+    }
+
+    @Test
+    void testMergeSortedNullOrderThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> Playlist.mergeSorted("Merged", List.of(playlist), null));
+    }
+
+    private static List<Track> contents(Playlist playlist) {
+        List<Track> tracks = new ArrayList<>();
+        for (Track track : playlist) {
+            tracks.add(track);
+        }
+        return tracks;
+    }
 }
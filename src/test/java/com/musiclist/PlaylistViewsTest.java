@@ -0,0 +1,175 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaylistViewsTest {
+
+    private Playlist playlist;
+    private List<Track> tracks;
+
+    @BeforeEach
+    void setUp() {
+        playlist = new Playlist("Views");
+        tracks = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Track track = new Track("Song " + i, i % 2 == 0 ? "Queen" : "ABBA", 100 + i);
+            tracks.add(track);
+            playlist.addTrack(track);
+        }
+    }
+
+    private static List<Track> collect(Iterable<Track> view) {
+        List<Track> result = new ArrayList<>();
+        for (Track track : view) {
+            result.add(track);
+        }
+        return result;
+    }
+
+    // -------------------------------------------------------------------------
+    // subList
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testSubListContainsWindow() {
+        List<Track> view = playlist.subList(3, 7);
+        assertEquals(4, view.size());
+        assertEquals(tracks.subList(3, 7), collect(view));
+        assertEquals(tracks.get(5), view.get(2));
+    }
+
+    @Test
+    void testEmptySubList() {
+        List<Track> view = playlist.subList(10, 10);
+        assertTrue(view.isEmpty());
+        assertFalse(view.iterator().hasNext());
+    }
+
+    @Test
+    void testSubListInvalidRangeThrowsException() {
+        assertThrows(IndexOutOfBoundsException.class, () -> playlist.subList(-1, 2));
+        assertThrows(IndexOutOfBoundsException.class, () -> playlist.subList(5, 11));
+        assertThrows(IndexOutOfBoundsException.class, () -> playlist.subList(6, 5));
+    }
+
+    @Test
+    void testSubListGetOutOfWindowThrowsException() {
+        List<Track> view = playlist.subList(3, 7);
+        assertThrows(IndexOutOfBoundsException.class, () -> view.get(4));
+    }
+
+    @Test
+    void testSubListIsReadOnly() {
+        List<Track> view = playlist.subList(0, 2);
+        assertThrows(UnsupportedOperationException.class, () -> view.add(tracks.get(0)));
+        assertThrows(UnsupportedOperationException.class, () -> view.remove(0));
+    }
+
+    @Test
+    void testSubListFailsAfterModification() {
+        List<Track> view = playlist.subList(0, 5);
+        playlist.removeTrackAtIndex(0);
+        assertThrows(ConcurrentModificationException.class, () -> view.get(0));
+        assertThrows(ConcurrentModificationException.class, view::size);
+    }
+
+    // -------------------------------------------------------------------------
+    // reversed
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testReversedIteratesBackwards() {
+        List<Track> expected = new ArrayList<>(tracks);
+        Collections.reverse(expected);
+        assertEquals(expected, collect(playlist.reversed()));
+        assertEquals(tracks.get(9), playlist.reversed().get(0));
+    }
+
+    @Test
+    void testReversedOfVariousSizes() {
+        for (int n = 0; n <= 17; n++) {
+            Playlist p = new Playlist("P" + n);
+            for (int i = 0; i < n; i++) {
+                p.addTrack(new Track("Song " + i, "Artist", 60 + i));
+            }
+            List<Track> reversed = collect(p.reversed());
+            assertEquals(n, reversed.size());
+            for (int i = 0; i < n; i++) {
+                assertEquals("Song " + (n - 1 - i), reversed.get(i).getTitle());
+            }
+        }
+    }
+
+    @Test
+    void testReversedIteratorPastEndThrowsException() {
+        Iterator<Track> iterator = new Playlist("Empty").reversed().iterator();
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    @Test
+    void testReversedIteratorFailsAfterModification() {
+        Iterator<Track> iterator = playlist.reversed().iterator();
+        iterator.next();
+        playlist.addTrack(tracks.get(0));
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+
+    // -------------------------------------------------------------------------
+    // filtered
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testFilteredSelectsMatchingTracks() {
+        List<Track> queen = collect(playlist.filtered(t -> t.getArtist().equals("Queen")));
+        assertEquals(5, queen.size());
+        assertEquals(tracks.get(0), queen.get(0));
+        assertEquals(tracks.get(8), queen.get(4));
+    }
+
+    @Test
+    void testFilteredIsLazy() {
+        int[] tested = new int[1];
+        Iterable<Track> view = playlist.filtered(t -> {
+            tested[0]++;
+            return true;
+        });
+        assertEquals(0, tested[0]);
+        view.iterator().next();
+        assertEquals(2, tested[0]);
+    }
+
+    @Test
+    void testFilteredNullPredicateThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> playlist.filtered(null));
+    }
+
+    @Test
+    void testFilteredFailsAfterModification() {
+        Iterable<Track> view = playlist.filtered(t -> true);
+        playlist.clear();
+        assertThrows(ConcurrentModificationException.class, view::iterator);
+    }
+
+    // -------------------------------------------------------------------------
+    // playlist iterator
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testPlaylistIteratorFailsAfterModification() {
+        Iterator<Track> iterator = playlist.iterator();
+        iterator.next();
+        playlist.addTrackAtBeginning(tracks.get(1));
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+    }
+}
@@ -0,0 +1,215 @@
+package com.musiclist;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A reproducible random workload against a {@link Playlist}, used by
+ * {@link PlaylistSoakRunner} and its tests.
+ *
+ * <p>Operations are drawn by weight from a configurable mix. Positions are drawn with a skew:
+ * 0 means uniform over the playlist, larger values concentrate accesses near the head (the
+ * position is {@code size * u^(1 + skew)} for a uniform {@code u}). Tracks come from a fixed
+ * catalog whose entries are also picked with the skew, so popular tracks repeat. The workload
+ * keeps its own {@code long} total of all durations, which lets callers detect when
+ * {@link Playlist#getTotalDuration()} overflows.</p>
+ */
+final class PlaylistWorkload {
+
+    /**
+     * The operations a workload performs.
+     */
+    enum Operation {
+        APPEND,
+        INSERT,
+        REMOVE,
+        GET,
+        INDEX_OF,
+        TOTAL_DURATION,
+        MOVE
+    }
+
+    private final Random random;
+    private final double skew;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final Track[] catalog;
+    private long expectedTotalDuration;
+    private long checksum;
+
+    /**
+     * Creates a workload.
+     *
+     * @param seed        the random seed
+     * @param mix         the relative weight of each operation (must not be null; at least one positive)
+     * @param skew        the access skew (must not be negative)
+     * @param catalogSize the number of distinct tracks to draw from (must be positive)
+     * @param maxDuration the longest track duration in seconds (must be positive)
+     * @throws IllegalArgumentException if any argument is invalid
+     */
+    PlaylistWorkload(long seed, Map<Operation, Integer> mix, double skew, int catalogSize, int maxDuration) {
+        if (mix == null) {
+            throw new IllegalArgumentException("Mix must not be null");
+        }
+        if (skew < 0.0) {
+            throw new IllegalArgumentException("Skew must not be negative");
+        }
+        if (catalogSize <= 0) {
+            throw new IllegalArgumentException("Catalog size must be positive");
+        }
+        if (maxDuration <= 0) {
+            throw new IllegalArgumentException("Max duration must be positive");
+        }
+        this.random = new Random(seed);
+        this.skew = skew;
+        this.operations = new Operation[mix.size()];
+        this.cumulativeWeights = new int[mix.size()];
+        int total = 0;
+        int n = 0;
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            if (entry.getValue() < 0) {
+                throw new IllegalArgumentException("Weights must not be negative");
+            }
+            total += entry.getValue();
+            operations[n] = entry.getKey();
+            cumulativeWeights[n++] = total;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("At least one weight must be positive");
+        }
+        this.catalog = new Track[catalogSize];
+        for (int i = 0; i < catalogSize; i++) {
+            catalog[i] = new Track("Song " + i, "Artist " + i % 997, 1 + random.nextInt(maxDuration));
+        }
+    }
+
+    /**
+     * Returns a read-heavy mix with some edits: 40% get, 15% append, 10% each of insert,
+     * remove and move, 10% indexOf and 5% total duration.
+     *
+     * @return the default mix
+     */
+    static Map<Operation, Integer> defaultMix() {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        mix.put(Operation.GET, 40);
+        mix.put(Operation.APPEND, 15);
+        mix.put(Operation.INSERT, 10);
+        mix.put(Operation.REMOVE, 10);
+        mix.put(Operation.MOVE, 10);
+        mix.put(Operation.INDEX_OF, 10);
+        mix.put(Operation.TOTAL_DURATION, 5);
+        return mix;
+    }
+
+    /**
+     * Appends tracks until the playlist has the given size.
+     *
+     * @param playlist the playlist to fill
+     * @param size     the target size
+     */
+    void populate(Playlist playlist, int size) {
+        while (playlist.size() < size) {
+            Track track = nextTrack();
+            playlist.addTrack(track);
+            expectedTotalDuration += track.getDurationInSeconds();
+        }
+    }
+
+    /**
+     * Draws the next operation from the mix.
+     *
+     * @return the operation
+     */
+    Operation nextOperation() {
+        int r = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (r < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        throw new IllegalStateException("Unreachable");
+    }
+
+    /**
+     * Performs one operation. Operations that need a track to act on append one instead while
+     * the playlist is empty.
+     *
+     * @param playlist  the playlist
+     * @param operation the operation to perform
+     */
+    void apply(Playlist playlist, Operation operation) {
+        int size = playlist.size();
+        if (size == 0 && operation != Operation.APPEND && operation != Operation.INSERT) {
+            operation = Operation.APPEND;
+        }
+        switch (operation) {
+            case APPEND: {
+                Track track = nextTrack();
+                playlist.addTrack(track);
+                expectedTotalDuration += track.getDurationInSeconds();
+                break;
+            }
+            case INSERT: {
+                Track track = nextTrack();
+                playlist.addTrackAtIndex(nextIndex(size + 1), track);
+                expectedTotalDuration += track.getDurationInSeconds();
+                break;
+            }
+            case REMOVE:
+                expectedTotalDuration -= playlist.removeTrackAtIndex(nextIndex(size)).getDurationInSeconds();
+                break;
+            case GET:
+                checksum += playlist.getTrack(nextIndex(size)).getDurationInSeconds();
+                break;
+            case INDEX_OF:
+                checksum += playlist.indexOf(nextTrack());
+                break;
+            case TOTAL_DURATION:
+                checksum += playlist.getTotalDuration();
+                break;
+            case MOVE:
+                playlist.moveTrack(nextIndex(size), nextIndex(size));
+                break;
+            default:
+                throw new IllegalStateException("Unknown operation " + operation);
+        }
+    }
+
+    /**
+     * Returns the sum of all track durations in the playlist, as maintained by this workload.
+     *
+     * @return the exact total duration in seconds
+     */
+    long getExpectedTotalDuration() {
+        return expectedTotalDuration;
+    }
+
+    /**
+     * Returns true if {@link Playlist#getTotalDuration()} no longer matches the exact total.
+     *
+     * @param playlist the playlist this workload has been driving
+     * @return whether the total duration overflowed
+     */
+    boolean totalDurationOverflowed(Playlist playlist) {
+        return playlist.getTotalDuration() != expectedTotalDuration;
+    }
+
+    /**
+     * Returns a value derived from the results of read operations, so they cannot be optimized away.
+     *
+     * @return the checksum
+     */
+    long getChecksum() {
+        return checksum;
+    }
+
+    int nextIndex(int bound) {
+        double u = random.nextDouble();
+        return (int) (bound * (skew == 0.0 ? u : Math.pow(u, 1.0 + skew)));
+    }
+
+    private Track nextTrack() {
+        return catalog[nextIndex(catalog.length)];
+    }
+}
@@ -0,0 +1,163 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlaylistWorkloadTest {
+
+    private static Map<PlaylistWorkload.Operation, Integer> only(PlaylistWorkload.Operation operation) {
+        Map<PlaylistWorkload.Operation, Integer> mix = new EnumMap<>(PlaylistWorkload.Operation.class);
+        mix.put(operation, 1);
+        return mix;
+    }
+
+    private static List<Track> contents(Playlist playlist) {
+        List<Track> tracks = new ArrayList<>();
+        for (Track track : playlist) {
+            tracks.add(track);
+        }
+        return tracks;
+    }
+
+    private static Playlist run(long seed, int size, int ops) {
+        PlaylistWorkload workload = new PlaylistWorkload(seed, PlaylistWorkload.defaultMix(), 0.5, 50, 300);
+        Playlist playlist = new Playlist("Workload");
+        workload.populate(playlist, size);
+        for (int i = 0; i < ops; i++) {
+            workload.apply(playlist, workload.nextOperation());
+        }
+        return playlist;
+    }
+
+    // -------------------------------------------------------------------------
+    // Construction
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testInvalidArgumentsThrowException() {
+        Map<PlaylistWorkload.Operation, Integer> mix = PlaylistWorkload.defaultMix();
+        assertThrows(IllegalArgumentException.class, () -> new PlaylistWorkload(1, null, 0, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> new PlaylistWorkload(1, mix, -1, 10, 10));
+        assertThrows(IllegalArgumentException.class, () -> new PlaylistWorkload(1, mix, 0, 0, 10));
+        assertThrows(IllegalArgumentException.class, () -> new PlaylistWorkload(1, mix, 0, 10, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new PlaylistWorkload(1, new EnumMap<>(PlaylistWorkload.Operation.class), 0, 10, 10));
+    }
+
+    // -------------------------------------------------------------------------
+    // Running workloads
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testSameSeedIsReproducible() {
+        assertEquals(contents(run(7, 100, 2_000)), contents(run(7, 100, 2_000)));
+    }
+
+    @Test
+    void testExpectedTotalDurationTracksPlaylist() {
+        PlaylistWorkload workload = new PlaylistWorkload(3, PlaylistWorkload.defaultMix(), 1.0, 50, 300);
+        Playlist playlist = new Playlist("Workload");
+        workload.populate(playlist, 200);
+        for (int i = 0; i < 5_000; i++) {
+            workload.apply(playlist, workload.nextOperation());
+        }
+        assertEquals(workload.getExpectedTotalDuration(), playlist.getTotalDuration());
+        assertFalse(workload.totalDurationOverflowed(playlist));
+    }
+
+    @Test
+    void testReadOnlyMixKeepsSize() {
+        PlaylistWorkload workload = new PlaylistWorkload(5, only(PlaylistWorkload.Operation.GET), 0, 50, 300);
+        Playlist playlist = new Playlist("Workload");
+        workload.populate(playlist, 100);
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(PlaylistWorkload.Operation.GET, workload.nextOperation());
+            workload.apply(playlist, PlaylistWorkload.Operation.GET);
+        }
+        assertEquals(100, playlist.size());
+    }
+
+    @Test
+    void testRemovalsOnEmptyPlaylistAppend() {
+        PlaylistWorkload workload = new PlaylistWorkload(5, only(PlaylistWorkload.Operation.REMOVE), 0, 50, 300);
+        Playlist playlist = new Playlist("Workload");
+        workload.apply(playlist, PlaylistWorkload.Operation.REMOVE);
+        assertEquals(1, playlist.size());
+        workload.apply(playlist, PlaylistWorkload.Operation.REMOVE);
+        assertTrue(playlist.isEmpty());
+    }
+
+    @Test
+    void testSkewFavoursTheHead() {
+        PlaylistWorkload workload = new PlaylistWorkload(9, PlaylistWorkload.defaultMix(), 3.0, 10, 10);
+        int nearHead = 0;
+        for (int i = 0; i < 1_000; i++) {
+            int index = workload.nextIndex(1_000);
+            assertTrue(index >= 0 && index < 1_000);
+            if (index < 100) {
+                nearHead++;
+            }
+        }
+        assertTrue(nearHead > 500, "near head: " + nearHead);
+    }
+
+    @Test
+    void testDetectsTotalDurationOverflow() {
+        PlaylistWorkload workload = new PlaylistWorkload(1, only(PlaylistWorkload.Operation.APPEND), 0, 50,
+                Integer.MAX_VALUE / 4);
+        Playlist playlist = new Playlist("Workload");
+        workload.populate(playlist, 1);
+        assertFalse(workload.totalDurationOverflowed(playlist));
+        while (workload.getExpectedTotalDuration() <= Integer.MAX_VALUE && playlist.size() < 1_000) {
+            workload.apply(playlist, workload.nextOperation());
+        }
+        assertTrue(workload.totalDurationOverflowed(playlist));
+    }
+
+    @Test
+    void testSoakRunnerCompletesTinyRun() {
+        PlaylistWorkload workload = new PlaylistWorkload(11, PlaylistWorkload.defaultMix(), 0.5, 50, 300);
+        Playlist playlist = new Playlist("Soak");
+        workload.populate(playlist, 100);
+        PlaylistSoakRunner.Result result = PlaylistSoakRunner.run(playlist, workload, 500, 10, 250, null);
+        assertEquals(500, result.getOperations());
+        assertEquals(2, result.getIntervals());
+        assertEquals(-1, result.getOverflowSize());
+        assertEquals(workload.getChecksum(), result.getChecksum());
+        assertEquals(workload.getExpectedTotalDuration(), playlist.getTotalDuration());
+    }
+
+    @Test
+    void testSoakRunnerReportsPartialIntervalAndOverflow() {
+        PlaylistWorkload workload = new PlaylistWorkload(1, only(PlaylistWorkload.Operation.APPEND), 0, 50,
+                Integer.MAX_VALUE / 4);
+        Playlist playlist = new Playlist("Soak");
+        PlaylistSoakRunner.Result result = PlaylistSoakRunner.run(playlist, workload, 30, 10, 1, null);
+        assertEquals(30, result.getOperations());
+        assertEquals(30, result.getIntervals());
+        assertTrue(result.getOverflowSize() > 0 && result.getOverflowSize() <= 30,
+                "overflow size: " + result.getOverflowSize());
+        assertTrue(workload.totalDurationOverflowed(playlist));
+    }
+
+    @Test
+    void testSoakRunnerWritesReport() {
+        PlaylistWorkload workload = new PlaylistWorkload(11, PlaylistWorkload.defaultMix(), 0.5, 50, 300);
+        Playlist playlist = new Playlist("Soak");
+        workload.populate(playlist, 10);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PlaylistSoakRunner.run(playlist, workload, 25, 10, 10, new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        String report = bytes.toString(StandardCharsets.UTF_8);
+        assertEquals(5, report.split("\\R").length, report);
+        assertTrue(report.contains("checksum"), report);
+    }
+}
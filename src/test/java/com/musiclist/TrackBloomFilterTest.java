@@ -0,0 +1,103 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackBloomFilterTest {
+
+    private final Track sampleTrack = new Track("Bohemian Rhapsody", "Queen", 354);
+    private final Track otherTrack  = new Track("Imagine", "John Lennon", 187);
+
+    // -------------------------------------------------------------------------
+    // Construction
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testNonPositiveExpectedTracksThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TrackBloomFilter(0, 0.01));
+    }
+
+    @Test
+    void testInvalidFalsePositiveRateThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TrackBloomFilter(10, 0.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TrackBloomFilter(10, 1.0));
+    }
+
+    // -------------------------------------------------------------------------
+    // put and mightContain
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testPutReportsFirstInsertion() {
+        TrackBloomFilter filter = new TrackBloomFilter(100, 0.01);
+        assertTrue(filter.put(sampleTrack));
+        assertFalse(filter.put(new Track("Bohemian Rhapsody", "Queen", 300)));
+    }
+
+    @Test
+    void testMightContainAddedTrack() {
+        TrackBloomFilter filter = new TrackBloomFilter(100, 0.01);
+        assertFalse(filter.mightContain(sampleTrack));
+        filter.put(sampleTrack);
+        assertTrue(filter.mightContain(sampleTrack));
+        assertFalse(filter.mightContain(null));
+    }
+
+    @Test
+    void testFalsePositiveRateIsRoughlyRespected() {
+        TrackBloomFilter filter = new TrackBloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(new Track("Song " + i, "Artist", 100));
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(new Track("Other " + i, "Artist", 100))) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testEqualHashCodesDoNotCollideInEveryProbe() {
+        // "Aa" and "BB" have the same String hash code, so all 1024 titles built from them do too.
+        Track[] tracks = new Track[1024];
+        for (int i = 0; i < tracks.length; i++) {
+            StringBuilder title = new StringBuilder();
+            for (int bit = 0; bit < 10; bit++) {
+                title.append((i >> bit & 1) == 0 ? "Aa" : "BB");
+            }
+            tracks[i] = new Track(title.toString(), "Artist", 100);
+        }
+        assertEquals(tracks[0].hashCode(), tracks[tracks.length - 1].hashCode());
+        TrackBloomFilter filter = new TrackBloomFilter(512, 0.01);
+        for (int i = 0; i < 512; i++) {
+            filter.put(tracks[i]);
+        }
+        int falsePositives = 0;
+        for (int i = 512; i < tracks.length; i++) {
+            if (filter.mightContain(tracks[i])) {
+                falsePositives++;
+            }
+        }
+        assertTrue(falsePositives < 30, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void testBitSizeGrowsWithExpectedTracks() {
+        assertTrue(new TrackBloomFilter(10_000, 0.01).bitSize()
+                > new TrackBloomFilter(100, 0.01).bitSize());
+        assertFalse(new TrackBloomFilter(100, 0.01).mightContain(otherTrack));
+    }
+
+    @Test
+    void testPutNullThrowsException() {
+        TrackBloomFilter filter = new TrackBloomFilter(10, 0.01);
+        assertThrows(IllegalArgumentException.class,
+                () -> filter.put(null));
+    }
+}
@@ -0,0 +1,78 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackNodePoolTest {
+
+    private Track track1;
+    private Track track2;
+    private Track track3;
+
+    @BeforeEach
+    void setUp() {
+        track1 = new Track("Bohemian Rhapsody", "Queen", 354);
+        track2 = new Track("Imagine", "John Lennon", 187);
+        track3 = new Track("Yesterday", "The Beatles", 125);
+    }
+
+    // -------------------------------------------------------------------------
+    // Construction
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testNonPositiveCapacityThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TrackNodePool(0));
+    }
+
+    // -------------------------------------------------------------------------
+    // acquire and release
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testAcquireFromEmptyPoolCreatesNode() {
+        TrackNodePool pool = new TrackNodePool(4);
+        TrackNode next = new TrackNode(track2);
+        TrackNode node = pool.acquire(track1, next);
+        assertEquals(track1, node.getTrack());
+        assertSame(next, node.getNext());
+        assertEquals(1, pool.createdCount());
+        assertEquals(0, pool.reusedCount());
+    }
+
+    @Test
+    void testReleasedNodeIsReused() {
+        TrackNodePool pool = new TrackNodePool(4);
+        TrackNode node = pool.acquire(track1, null);
+        pool.release(node);
+        assertEquals(1, pool.available());
+        TrackNode reused = pool.acquire(track2, null);
+        assertSame(node, reused);
+        assertEquals(track2, reused.getTrack());
+        assertNull(reused.getNext());
+        assertEquals(0, pool.available());
+        assertEquals(1, pool.reusedCount());
+    }
+
+    @Test
+    void testPoolKeepsAtMostCapacityNodes() {
+        TrackNodePool pool = new TrackNodePool(2);
+        pool.release(new TrackNode(track1));
+        pool.release(new TrackNode(track2));
+        pool.release(new TrackNode(track3));
+        assertEquals(2, pool.available());
+    }
+
+    @Test
+    void testAcquireNullTrackThrowsException() {
+        TrackNodePool pool = new TrackNodePool(2);
+        pool.release(new TrackNode(track1));
+        assertThrows(IllegalArgumentException.class,
+                () -> pool.acquire(null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TrackNodePool(2).acquire(null, null));
+    }
+}
@@ -0,0 +1,110 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackQueueTest {
+
+    private TrackNodePool pool;
+    private TrackQueue queue;
+    private Track track1;
+    private Track track2;
+    private Track track3;
+
+    @BeforeEach
+    void setUp() {
+        pool = new TrackNodePool(16);
+        queue = new TrackQueue(pool);
+        track1 = new Track("Bohemian Rhapsody", "Queen", 354);
+        track2 = new Track("Imagine", "John Lennon", 187);
+        track3 = new Track("Yesterday", "The Beatles", 125);
+    }
+
+    // -------------------------------------------------------------------------
+    // Construction
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testNewQueueIsEmpty() {
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertNull(queue.peek());
+        assertNull(queue.dequeue());
+        assertSame(pool, queue.getNodePool());
+    }
+
+    @Test
+    void testNullPoolThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new TrackQueue(null));
+    }
+
+    // -------------------------------------------------------------------------
+    // enqueue and dequeue
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testTracksLeaveInArrivalOrder() {
+        queue.enqueue(track1);
+        queue.enqueue(track2);
+        queue.enqueue(track3);
+        assertEquals(3, queue.size());
+        assertEquals(track1, queue.peek());
+        assertEquals(List.of(track1, track2, track3), queue.toList());
+
+        assertEquals(track1, queue.dequeue());
+        assertEquals(track2, queue.dequeue());
+        queue.enqueue(track1);
+        assertEquals(List.of(track3, track1), queue.toList());
+        assertEquals(track3, queue.dequeue());
+        assertEquals(track1, queue.dequeue());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.dequeue());
+    }
+
+    @Test
+    void testEnqueueNullTrackThrowsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> queue.enqueue(null));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    void testChurnReusesNodes() {
+        queue.enqueue(track1);
+        queue.enqueue(track2);
+        for (int i = 0; i < 100; i++) {
+            queue.enqueue(queue.dequeue());
+        }
+        assertEquals(List.of(track1, track2), queue.toList());
+        assertEquals(2, pool.createdCount());
+        assertEquals(100, pool.reusedCount());
+    }
+
+    @Test
+    void testClearReturnsNodesToPool() {
+        queue.enqueue(track1);
+        queue.enqueue(track2);
+        queue.enqueue(track3);
+        queue.clear();
+        assertTrue(queue.isEmpty());
+        assertEquals(3, pool.available());
+        queue.enqueue(track2);
+        assertEquals(List.of(track2), queue.toList());
+        assertEquals(1, pool.reusedCount());
+    }
+
+    @Test
+    void testCopiedListIsNotAffectedByLaterChurn() {
+        queue.enqueue(track1);
+        queue.enqueue(track2);
+        List<Track> copy = queue.toList();
+        queue.dequeue();
+        queue.enqueue(track3);
+        assertEquals(List.of(track1, track2), copy);
+    }
+}
@@ -0,0 +1,234 @@
+package com.musiclist;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TrackSimilarityIndexTest {
+
+    private TrackSimilarityIndex index;
+    private Track queen1;
+    private Track queen2;
+    private Track queen3;
+    private Track lennon;
+    private Track beatles;
+
+    @BeforeEach
+    void setUp() {
+        index = new TrackSimilarityIndex();
+        queen1 = new Track("Bohemian Rhapsody", "Queen", 354);
+        queen2 = new Track("Somebody to Love", "Queen", 296);
+        queen3 = new Track("Don't Stop Me Now", "Queen", 209);
+        lennon = new Track("Imagine", "John Lennon", 187);
+        beatles = new Track("Love Me Do", "The Beatles", 142);
+    }
+
+    private Playlist seed(Track... tracks) {
+        Playlist seed = new Playlist("Seed");
+        for (Track track : tracks) {
+            seed.addTrack(track);
+        }
+        return seed;
+    }
+
+    // -------------------------------------------------------------------------
+    // Construction and indexing
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testInvalidArgumentsThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> new TrackSimilarityIndex(0));
+        assertThrows(IllegalArgumentException.class, () -> index.add(null));
+        assertThrows(IllegalArgumentException.class, () -> index.remove(null));
+        assertThrows(IllegalArgumentException.class, () -> index.similarTo(null, 5));
+        assertThrows(IllegalArgumentException.class, () -> index.similarTo(seed(queen1), 0));
+    }
+
+    @Test
+    void testAddIgnoresEqualTracks() {
+        assertTrue(index.add(queen1));
+        assertFalse(index.add(new Track("Bohemian Rhapsody", "Queen", 360)));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void testWordsSeparateArtistAndTitle() {
+        assertEquals(Set.of("a:queen", "t:bohemian", "t:rhapsody"), TrackSimilarityIndex.words(queen1));
+        assertTrue(TrackSimilarityIndex.words(queen3).contains("t:don"));
+    }
+
+    @Test
+    void testIndexFollowsCatalogPlaylist() {
+        Playlist catalog = new Playlist("Catalog");
+        catalog.addListener(index);
+        catalog.addTrack(queen1);
+        Playlist more = seed(queen2, lennon);
+        catalog.appendAll(more);
+        assertEquals(3, index.size());
+    }
+
+    // -------------------------------------------------------------------------
+    // Removal
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testRemovedTracksAreNoLongerRecommended() {
+        Playlist catalog = new Playlist("Catalog");
+        catalog.addListener(index);
+        catalog.addTrack(queen1);
+        catalog.addTrack(queen2);
+        catalog.addTrack(queen3);
+        catalog.removeTrack(queen2);
+        assertEquals(2, index.size());
+        assertEquals(List.of(queen3), index.similarTo(seed(queen1), 5));
+    }
+
+    @Test
+    void testClearedCatalogRecommendsNothing() {
+        Playlist catalog = new Playlist("Catalog");
+        catalog.addListener(index);
+        catalog.addTrack(queen1);
+        catalog.addTrack(queen2);
+        catalog.clear();
+        assertEquals(0, index.size());
+        assertTrue(index.similarTo(seed(new Track("Anything", "Queen", 200)), 5).isEmpty());
+    }
+
+    @Test
+    void testReplacedTrackIsSwappedInIndex() {
+        Playlist catalog = new Playlist("Catalog");
+        catalog.addListener(index);
+        catalog.addTrack(queen1);
+        catalog.addTrack(queen2);
+        PlaylistCursor cursor = catalog.cursor();
+        cursor.next();
+        cursor.next();
+        cursor.set(lennon);
+        assertEquals(2, index.size());
+        assertTrue(index.similarTo(seed(queen1), 5).isEmpty());
+        assertEquals(List.of(lennon), index.similarTo(seed(new Track("Imagine All", "Other", 187)), 5));
+    }
+
+    @Test
+    void testDuplicateStaysIndexedUntilRemovedAsOftenAsAdded() {
+        index.add(queen1);
+        index.add(queen1);
+        assertFalse(index.remove(queen1));
+        assertEquals(1, index.size());
+        assertTrue(index.remove(queen1));
+        assertEquals(0, index.size());
+        assertFalse(index.remove(queen1));
+        assertFalse(index.remove(lennon));
+    }
+
+    @Test
+    void testFreedIdsAreReused() {
+        index.addAll(List.of(queen1, queen2, lennon));
+        index.remove(queen2);
+        index.add(queen3);
+        assertEquals(3, index.size());
+        assertEquals(List.of(queen3), index.similarTo(seed(queen1), 5));
+        assertEquals(List.of(queen1), index.similarTo(seed(queen3), 5));
+    }
+
+    @Test
+    void testRemovalsKeepPostingsConsistent() {
+        List<Track> kept = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            Track track = new Track("Love Song " + i, "Artist " + i % 10, 100 + i % 200);
+            index.add(track);
+            if (i % 3 == 0) {
+                kept.add(track);
+            }
+        }
+        for (int i = 0; i < 2_000; i++) {
+            if (i % 3 != 0) {
+                assertTrue(index.remove(new Track("Love Song " + i, "Artist " + i % 10, 100 + i % 200)));
+            }
+        }
+        TrackSimilarityIndex fresh = new TrackSimilarityIndex();
+        fresh.addAll(kept);
+        assertEquals(fresh.size(), index.size());
+        Playlist query = seed(new Track("Love", "Artist 3", 150));
+        assertEquals(new HashSet<>(kept), new HashSet<>(index.similarTo(query, 1_000)));
+        assertEquals(new HashSet<>(fresh.similarTo(query, 1_000)), new HashSet<>(index.similarTo(query, 1_000)));
+    }
+
+    @Test
+    void testMovingTracksBetweenListenedPlaylistsKeepsThem() {
+        Playlist catalog = new Playlist("Catalog");
+        Playlist incoming = new Playlist("Incoming");
+        catalog.addListener(index);
+        incoming.addListener(index);
+        catalog.addTrack(queen1);
+        incoming.addTrack(queen2);
+        catalog.appendAll(incoming);
+        assertEquals(2, index.size());
+        assertEquals(List.of(queen2), index.similarTo(seed(queen1), 5));
+    }
+
+    // -------------------------------------------------------------------------
+    // similarTo
+    // -------------------------------------------------------------------------
+
+    @Test
+    void testSameArtistRanksFirst() {
+        index.addAll(List.of(queen1, queen2, queen3, lennon, beatles));
+        List<Track> similar = index.similarTo(seed(queen1), 3);
+        assertEquals(2, similar.size());
+        assertTrue(similar.containsAll(List.of(queen2, queen3)));
+        assertFalse(similar.contains(queen1));
+    }
+
+    @Test
+    void testCloserDurationRanksHigher() {
+        index.addAll(List.of(queen1, queen2, queen3));
+        List<Track> similar = index.similarTo(seed(new Track("Radio Ga Ga", "Queen", 290)), 2);
+        assertEquals(List.of(queen2, queen1), similar);
+    }
+
+    @Test
+    void testSharedTitleWordsMatch() {
+        index.addAll(List.of(queen1, queen2, lennon, beatles));
+        List<Track> similar = index.similarTo(seed(new Track("Love Song", "Nobody", 200)), 5);
+        assertEquals(2, similar.size());
+        assertTrue(similar.containsAll(List.of(queen2, beatles)));
+    }
+
+    @Test
+    void testResultIsLimitedToK() {
+        for (int i = 0; i < 100; i++) {
+            index.add(new Track("Song " + i, "Queen", 100 + i));
+        }
+        List<Track> similar = index.similarTo(seed(new Track("Other", "Queen", 150)), 5);
+        assertEquals(5, similar.size());
+        assertEquals(150, similar.get(0).getDurationInSeconds());
+    }
+
+    @Test
+    void testTooCommonWordsAreSkipped() {
+        TrackSimilarityIndex small = new TrackSimilarityIndex(2);
+        small.addAll(List.of(queen1, queen2, queen3, lennon));
+        assertTrue(small.similarTo(seed(new Track("Anything", "Queen", 200)), 5).isEmpty());
+    }
+
+    @Test
+    void testQueriesAreRepeatable() {
+        index.addAll(List.of(queen1, queen2, queen3, lennon, beatles));
+        List<Track> first = index.similarTo(seed(queen1, beatles), 4);
+        assertEquals(first, index.similarTo(seed(queen1, beatles), 4));
+    }
+
+    @Test
+    void testEmptySeedOrIndexReturnsNothing() {
+        assertTrue(index.similarTo(seed(queen1), 5).isEmpty());
+        index.add(queen2);
+        assertTrue(index.similarTo(seed(), 5).isEmpty());
+    }
+}
@@ -184,4 +184,16 @@ class TrackTest {
         assertTrue(result.contains("John Lennon"));
         assertTrue(result.contains("03:07"));
     }
+
+    @Test
+    void testToStringFormat() {
+        assertEquals("Track{title='Imagine', artist='John Lennon', duration=03:07}",
+                new Track("Imagine", "John Lennon", 187).toString());
+    }
+
+    @Test
+    void testFormattedDurationWithManyMinutes() {
+        assertEquals("10:10", new Track("A", "B", 610).getFormattedDuration());
+        assertEquals("100:00", new Track("A", "B", 6000).getFormattedDuration());
+    }
 }